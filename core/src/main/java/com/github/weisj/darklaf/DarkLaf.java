@@ -24,6 +24,9 @@
  */
 package com.github.weisj.darklaf;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -70,6 +73,10 @@ public class DarkLaf extends BasicLookAndFeel {
      * if #getDefaults is called outside of LaF installation.
      */
     private boolean isInitialized;
+    /*
+     * The unresolved values of the defaults last returned by #getDefaults.
+     */
+    private Map<Object, Object> loadedDefaults = Collections.emptyMap();
 
     /**
      * Create Custom Darcula LaF.
@@ -135,9 +142,21 @@ public class DarkLaf extends BasicLookAndFeel {
             if (task.onlyDuringInstallation() && !isInitialized) continue;
             task.run(currentTheme, defaults);
         }
+        loadedDefaults = new HashMap<>(defaults);
+        DefaultsDependencyIndex dependencyIndex = LafManager.getDependencyIndex();
+        if (dependencyIndex != null) return new RecordingUIDefaults(defaults, dependencyIndex);
         return defaults;
     }
 
+    /**
+     * Get the values of the defaults last returned by {@link #getDefaults()}. Lazy values are not resolved.
+     *
+     * @return the loaded defaults.
+     */
+    Map<Object, Object> getLoadedDefaults() {
+        return loadedDefaults;
+    }
+
     @Override
     public String getName() {
         return "Darklaf";
@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.*;
+
+/**
+ * Index of the {@link UIDefaults} keys the ui delegates depend on. The keys read while a component installs its ui are
+ * recorded for the ui class id of the component. The index is populated if dependency tracking is enabled using
+ * {@link LafManager#setDependencyTrackingEnabled(boolean)}.
+ * <p>
+ * Only installations performed by the {@link LafManager} are recorded. Ui class ids for which no installation has
+ * been recorded are treated as depending on every key.
+ *
+ * @author Jannis Weis
+ */
+public final class DefaultsDependencyIndex {
+
+    private final Map<Object, Integer> readCounts = new HashMap<>();
+    private final Map<String, Set<Object>> dependencies = new HashMap<>();
+    private final Map<Object, Set<String>> dependents = new HashMap<>();
+    /*
+     * The keys read by the installation recorded on the current thread. Reads of other threads, e.g. background
+     * tasks, don't belong to the installation.
+     */
+    private final ThreadLocal<Set<Object>> currentKeys = new ThreadLocal<>();
+    private final AtomicInteger activeRecordings = new AtomicInteger();
+
+    DefaultsDependencyIndex() {}
+
+    /**
+     * Returns whether an installation is currently being recorded. Reads outside of recorded installations don't have
+     * to be reported, which avoids the synchronization for lookups at paint time.
+     *
+     * @return true if keys are currently being recorded.
+     */
+    boolean isRecording() {
+        return activeRecordings.get() > 0;
+    }
+
+    void keyRead(final Object key) {
+        Set<Object> keys = currentKeys.get();
+        if (keys == null) return;
+        keys.add(key);
+        synchronized (this) {
+            readCounts.merge(key, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Records the keys read while installing the ui of the given component.
+     *
+     * @param c       the component.
+     * @param install the task installing the ui.
+     */
+    void record(final JComponent c, final Runnable install) {
+        String uiClassID = c.getUIClassID();
+        Set<Object> outerKeys = currentKeys.get();
+        Set<Object> keys = new HashSet<>();
+        currentKeys.set(keys);
+        activeRecordings.incrementAndGet();
+        try {
+            install.run();
+        } finally {
+            activeRecordings.decrementAndGet();
+            if (outerKeys != null) {
+                currentKeys.set(outerKeys);
+            } else {
+                currentKeys.remove();
+            }
+            synchronized (this) {
+                /*
+                 * Nested installations happen if the ui creates child components. The outer ui depends on them as
+                 * well.
+                 */
+                if (outerKeys != null) outerKeys.addAll(keys);
+                dependencies.computeIfAbsent(uiClassID, k -> new HashSet<>()).addAll(keys);
+                for (Object key : keys) {
+                    dependents.computeIfAbsent(key, k -> new HashSet<>()).add(uiClassID);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the ui for the given ui class id has to be reinstalled if the given keys have changed.
+     *
+     * @param  uiClassID   the ui class id.
+     * @param  changedKeys the changed keys.
+     * @return             true if the ui depends on any of the changed keys or nothing is known about it.
+     */
+    public synchronized boolean isAffected(final String uiClassID, final Set<Object> changedKeys) {
+        if (changedKeys.isEmpty()) return false;
+        Set<Object> keys = dependencies.get(uiClassID);
+        if (keys == null) return true;
+        for (Object key : changedKeys) {
+            if (keys.contains(key)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the keys the ui with the given ui class id depends on.
+     *
+     * @param  uiClassID the ui class id.
+     * @return           the keys read during installation or an empty set if nothing has been recorded.
+     */
+    public synchronized Set<Object> getDependencies(final String uiClassID) {
+        Set<Object> keys = dependencies.get(uiClassID);
+        return keys != null ? new HashSet<>(keys) : Collections.emptySet();
+    }
+
+    /**
+     * Returns the ui class ids of the uis depending on the given key.
+     *
+     * @param  key the key.
+     * @return     the ui class ids.
+     */
+    public synchronized Set<String> getDependents(final Object key) {
+        Set<String> ids = dependents.get(key);
+        return ids != null ? new HashSet<>(ids) : Collections.emptySet();
+    }
+
+    /**
+     * Returns how often each key has been read by recorded installations since tracking was enabled. Lookups outside
+     * of installations (e.g. while painting) aren't counted.
+     *
+     * @return the read counts.
+     */
+    public synchronized Map<Object, Integer> getReadCounts() {
+        return new HashMap<>(readCounts);
+    }
+
+    /**
+     * Creates a report of all keys read by recorded installations sorted by how often they have been read, together
+     * with the ui class ids depending on them.
+     *
+     * @return the report.
+     */
+    public synchronized String dump() {
+        List<Map.Entry<Object, Integer>> entries = new ArrayList<>(readCounts.entrySet());
+        entries.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Object, Integer> entry : entries) {
+            sb.append(entry.getKey()).append(" = ").append(entry.getValue());
+            Set<String> ids = dependents.get(entry.getKey());
+            if (ids != null) {
+                sb.append(' ').append(new TreeSet<>(ids));
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
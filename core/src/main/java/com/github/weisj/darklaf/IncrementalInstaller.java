@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.*;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.icons.IconLoader;
+
+/**
+ * Installs a theme into an already installed {@link DarkLaf} by updating only the defaults that have changed. The ui
+ * of a component is only reinstalled if it is affected by the changed defaults according to the {@link
+ * DefaultsDependencyIndex}. All other components are repainted together with their window.
+ *
+ * @author Jannis Weis
+ */
+final class IncrementalInstaller {
+
+    private static final ClassValue<Boolean> DEFINES_EQUALS = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+            try {
+                return type.getMethod("equals", Object.class).getDeclaringClass() != Object.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    private IncrementalInstaller() {}
+
+    static void install(final DarkLaf laf) {
+        Map<Object, Object> oldDefaults = laf.getLoadedDefaults();
+        UIDefaults newDefaults = laf.getDefaults();
+        Set<Object> changedKeys = updateDefaults(UIManager.getLookAndFeelDefaults(), oldDefaults, newDefaults);
+        for (final Window w : Window.getWindows()) {
+            updateWindow(w, changedKeys);
+        }
+    }
+
+    /**
+     * Reinstalls the ui of all components. This is equivalent to calling {@link
+     * SwingUtilities#updateComponentTreeUI(Component)} for every window, but records the dependencies of the uis if
+     * dependency tracking is enabled.
+     */
+    static void updateAll() {
+        for (final Window w : Window.getWindows()) {
+            updateWindow(w, null);
+        }
+    }
+
+    /**
+     * Updates the current defaults to match the new defaults. Values are compared to the values the current defaults
+     * were loaded with, as lazy values in the current defaults may already have been resolved.
+     *
+     * @param  currentDefaults the defaults currently in use.
+     * @param  oldDefaults     the unresolved values of the current defaults.
+     * @param  newDefaults     the defaults of the new theme.
+     * @return                 the keys which values have changed.
+     */
+    static Set<Object> updateDefaults(final UIDefaults currentDefaults, final Map<Object, Object> oldDefaults,
+                                      final UIDefaults newDefaults) {
+        /*
+         * UIDefaults#get resolves lazy values. Copying the entries provides access to the unresolved values.
+         */
+        Map<Object, Object> updated = new HashMap<>(newDefaults);
+        Set<Object> changedKeys = new HashSet<>();
+        for (Map.Entry<Object, Object> entry : updated.entrySet()) {
+            if (!isEqual(oldDefaults.get(entry.getKey()), entry.getValue())) {
+                changedKeys.add(entry.getKey());
+            }
+        }
+        for (Object key : oldDefaults.keySet()) {
+            if (!updated.containsKey(key)) changedKeys.add(key);
+        }
+        for (Object key : changedKeys) {
+            Object value = updated.get(key);
+            if (value != null) {
+                currentDefaults.put(key, value);
+            } else {
+                currentDefaults.remove(key);
+            }
+        }
+        return changedKeys;
+    }
+
+    private static boolean isEqual(final Object current, final Object value) {
+        if (Objects.equals(current, value)) return true;
+        if (current == null || value == null || current.getClass() != value.getClass()) return false;
+        /*
+         * Icons may have been evicted from the cache of the IconLoader and recreated since the current defaults were
+         * loaded. They are the same if they are loaded from the same resource.
+         */
+        if (current instanceof Icon) return IconLoader.isSameIcon((Icon) current, (Icon) value);
+        /*
+         * The base look and feel creates new lazy values every time the defaults are requested. They don't depend
+         * on the theme and don't define equality, hence they are considered equal if they are of the same type.
+         * Values which do define equality (e.g. the values created by the PropertyLoader) have already been compared
+         * above.
+         */
+        if (current instanceof UIDefaults.LazyValue || current instanceof UIDefaults.ActiveValue) {
+            return !DEFINES_EQUALS.get(current.getClass());
+        }
+        return false;
+    }
+
+    private static void updateWindow(final Window window, final Set<Object> changedKeys) {
+        for (final Window childWindow : window.getOwnedWindows()) {
+            updateWindow(childWindow, changedKeys);
+        }
+        updateComponentTree(window, changedKeys);
+        window.invalidate();
+        window.validate();
+        window.repaint();
+    }
+
+    /*
+     * Mirrors the traversal of SwingUtilities#updateComponentTreeUI.
+     */
+    private static void updateComponentTree(final Component c, final Set<Object> changedKeys) {
+        if (c instanceof JComponent) {
+            JComponent jc = (JComponent) c;
+            if (requiresUIUpdate(jc, changedKeys)) updateUI(jc);
+            JPopupMenu popupMenu = jc.getComponentPopupMenu();
+            if (popupMenu != null) updateComponentTree(popupMenu, changedKeys);
+        }
+        Component[] children = null;
+        if (c instanceof JMenu) {
+            children = ((JMenu) c).getMenuComponents();
+        } else if (c instanceof Container) {
+            children = ((Container) c).getComponents();
+        }
+        if (children != null) {
+            for (Component child : children) {
+                updateComponentTree(child, changedKeys);
+            }
+        }
+    }
+
+    /*
+     * A null set of changed keys indicates all uis should be reinstalled. Without knowledge about which defaults a
+     * ui delegate depends on every delegate has to be assumed to be affected if any value has changed.
+     */
+    private static boolean requiresUIUpdate(final JComponent c, final Set<Object> changedKeys) {
+        if (changedKeys == null) return true;
+        DefaultsDependencyIndex dependencyIndex = LafManager.getDependencyIndex();
+        if (dependencyIndex == null) return !changedKeys.isEmpty();
+        return dependencyIndex.isAffected(c.getUIClassID(), changedKeys);
+    }
+
+    private static void updateUI(final JComponent c) {
+        DefaultsDependencyIndex dependencyIndex = LafManager.getDependencyIndex();
+        if (dependencyIndex != null) {
+            dependencyIndex.record(c, c::updateUI);
+        } else {
+            c.updateUI();
+        }
+    }
+}
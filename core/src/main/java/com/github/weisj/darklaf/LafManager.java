@@ -29,15 +29,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 import javax.swing.*;
 
+import com.github.weisj.darklaf.icons.IconLoader;
 import com.github.weisj.darklaf.platform.DecorationsHandler;
 import com.github.weisj.darklaf.platform.ThemePreferencesHandler;
 import com.github.weisj.darklaf.settings.ThemeSettings;
 import com.github.weisj.darklaf.task.DefaultsAdjustmentTask;
 import com.github.weisj.darklaf.task.DefaultsInitTask;
+import com.github.weisj.darklaf.task.ThemeDefaultsInitTask;
 import com.github.weisj.darklaf.theme.*;
 import com.github.weisj.darklaf.theme.event.*;
 import com.github.weisj.darklaf.theme.info.DefaultThemeProvider;
@@ -54,6 +57,8 @@ public final class LafManager {
 
     private static ThemeProvider themeProvider;
     private static Theme theme;
+    private static boolean incrementalInstall;
+    private static DefaultsDependencyIndex dependencyIndex;
     private static final List<Theme> registeredThemes = new ArrayList<>();
     private static final Collection<DefaultsAdjustmentTask> uiDefaultsTasks = new ArrayList<>();
     private static final Collection<DefaultsInitTask> uiInitTasks = new ArrayList<>();
@@ -348,6 +353,7 @@ public final class LafManager {
      * Reloads the theme. Forces all properties to be reloaded.
      */
     public static void reloadTheme() {
+        ThemeDefaultsInitTask.clearSnapshots();
         setTheme(getTheme().copy());
     }
 
@@ -368,8 +374,13 @@ public final class LafManager {
     public static void install() {
         try {
             getTheme();
-            UIManager.setLookAndFeel(DarkLaf.class.getCanonicalName());
-            updateLaf();
+            LookAndFeel currentLaf = UIManager.getLookAndFeel();
+            if (incrementalInstall && currentLaf instanceof DarkLaf) {
+                IncrementalInstaller.install((DarkLaf) currentLaf);
+            } else {
+                UIManager.setLookAndFeel(DarkLaf.class.getCanonicalName());
+                updateLaf();
+            }
             eventSupport.dispatchEvent(new ThemeChangeEvent(null, getTheme()),
                                        ThemeChangeListener::themeInstalled);
         } catch (final ClassNotFoundException
@@ -380,10 +391,80 @@ public final class LafManager {
         }
     }
 
+    /**
+     * Sets whether themes should be installed incrementally if the LaF is already installed. In this case only the
+     * defaults which differ between the current and the new theme are updated, and only components affected by these
+     * changes have their ui reinstalled. By default, this is false.
+     *
+     * @param incrementalInstall true if themes should be installed incrementally.
+     */
+    public static void setIncrementalInstallEnabled(final boolean incrementalInstall) {
+        LafManager.incrementalInstall = incrementalInstall;
+    }
+
+    /**
+     * Returns whether themes are installed incrementally if the LaF is already installed.
+     *
+     * @return true if themes are installed incrementally.
+     * @see    #setIncrementalInstallEnabled(boolean)
+     */
+    public static boolean isIncrementalInstallEnabled() {
+        return incrementalInstall;
+    }
+
+    /**
+     * Sets whether the {@link UIDefaults} keys read by the ui delegates should be tracked. If enabled, incremental
+     * installations (see {@link #setIncrementalInstallEnabled(boolean)}) only reinstall the uis which depend on changed
+     * keys. The keys are recorded while the {@link LafManager} installs the uis of components.
+     * <p>
+     * Tracking only takes effect once the defaults are loaded again i.e. the LaF is (re)installed.
+     *
+     * @param enabled true if dependencies should be tracked.
+     */
+    public static void setDependencyTrackingEnabled(final boolean enabled) {
+        if (enabled == (dependencyIndex != null)) return;
+        dependencyIndex = enabled ? new DefaultsDependencyIndex() : null;
+    }
+
+    /**
+     * Returns whether the {@link UIDefaults} keys read by the ui delegates are tracked.
+     *
+     * @return true if dependencies are tracked.
+     * @see    #setDependencyTrackingEnabled(boolean)
+     */
+    public static boolean isDependencyTrackingEnabled() {
+        return dependencyIndex != null;
+    }
+
+    /**
+     * Get the index of the {@link UIDefaults} keys the ui delegates depend on.
+     *
+     * @return the dependency index or null if dependency tracking isn't enabled.
+     * @see    #setDependencyTrackingEnabled(boolean)
+     */
+    public static DefaultsDependencyIndex getDependencyIndex() {
+        return dependencyIndex;
+    }
+
+    /**
+     * Parse and rasterize the icons of the current look and feel defaults in the background. This avoids the delay
+     * of loading the icons on first use e.g. when a menu or file chooser is opened the first time.
+     *
+     * @return a future which completes when all icons have been prepared.
+     * @see    IconLoader#preloadIcons(Collection, double...)
+     */
+    public static CompletableFuture<Void> preloadIcons() {
+        return IconLoader.preloadIcons(new ArrayList<>(UIManager.getLookAndFeelDefaults().values()));
+    }
+
     /**
      * Update the component ui classes for all current windows.
      */
     public static void updateLaf() {
+        if (dependencyIndex != null) {
+            IncrementalInstaller.updateAll();
+            return;
+        }
         for (final Window w : Window.getWindows()) {
             updateLafRecursively(w);
         }
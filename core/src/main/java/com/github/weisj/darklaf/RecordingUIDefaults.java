@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.util.Locale;
+import java.util.Map;
+
+import javax.swing.*;
+
+/**
+ * {@link UIDefaults} reporting every key read during a recorded installation to a {@link DefaultsDependencyIndex}.
+ *
+ * @author Jannis Weis
+ */
+final class RecordingUIDefaults extends UIDefaults {
+
+    private final UIDefaults resourceDefaults;
+    private final DefaultsDependencyIndex index;
+
+    /**
+     * Creates recording defaults with the values of the given defaults. The given defaults are cleared and only used
+     * to look up values from their resource bundles.
+     *
+     * @param defaults the defaults.
+     * @param index    the index to report to.
+     */
+    RecordingUIDefaults(final UIDefaults defaults, final DefaultsDependencyIndex index) {
+        super(defaults.size(), 0.75f);
+        this.index = index;
+        this.resourceDefaults = defaults;
+        for (Map.Entry<Object, Object> entry : defaults.entrySet()) {
+            super.put(entry.getKey(), entry.getValue());
+        }
+        defaults.clear();
+    }
+
+    @Override
+    public Object get(final Object key) {
+        if (index.isRecording()) index.keyRead(key);
+        Object value = super.get(key);
+        return value != null ? value : resourceDefaults.get(key);
+    }
+
+    @Override
+    public Object get(final Object key, final Locale l) {
+        if (index.isRecording()) index.keyRead(key);
+        Object value = super.get(key, l);
+        return value != null ? value : resourceDefaults.get(key, l);
+    }
+
+    @Override
+    public void setDefaultLocale(final Locale l) {
+        super.setDefaultLocale(l);
+        resourceDefaults.setDefaultLocale(l);
+    }
+}
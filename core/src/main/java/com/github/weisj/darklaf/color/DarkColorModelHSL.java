@@ -81,6 +81,19 @@ public class DarkColorModelHSL extends DarkColorModel {
         return new Color(rgb[0], rgb[1], rgb[2]);
     }
 
+    /**
+     * Converts the given hsl values to an opaque packed rgb value without creating a {@link Color}.
+     *
+     * @param  h the hue.
+     * @param  s the saturation.
+     * @param  l the lightness.
+     * @return   the rgb value in the default rgb color model.
+     */
+    public static int getRGBFromHSLValues(final double h, final double s, final double l) {
+        int[] rgb = HSLtoRGB(h, s, l);
+        return 0xFF000000 | ((rgb[0] & 0xFF) << 16) | ((rgb[1] & 0xFF) << 8) | (rgb[2] & 0xFF);
+    }
+
     public static double[] RGBtoHSLValues(final int r, final int g, final int b) {
         double max = max(r, g, b) / 255.0;
         double min = min(r, g, b) / 255.0;
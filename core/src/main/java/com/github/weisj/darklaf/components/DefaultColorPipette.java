@@ -34,7 +34,7 @@ import javax.swing.*;
 import com.github.weisj.darklaf.graphics.GraphicsContext;
 import com.github.weisj.darklaf.graphics.GraphicsUtil;
 import com.github.weisj.darklaf.ui.colorchooser.ColorListener;
-import com.github.weisj.darklaf.util.TimerUtil;
+import com.github.weisj.darklaf.util.PointerTracker;
 
 public class DefaultColorPipette extends ColorPipetteBase {
     private static final int SIZE = 36;
@@ -44,14 +44,14 @@ public class DefaultColorPipette extends ColorPipetteBase {
 
     private final Rectangle captureRect = new Rectangle();
     private final Point previousLocation = new Point();
-    private final Timer timer;
+    private final PointerTracker pointerTracker;
     protected final Color borderColor;
     private Graphics2D zoomGraphics;
     private BufferedImage zoomImage;
 
     public DefaultColorPipette(final JComponent parent, final ColorListener colorListener) {
         super(parent, colorListener);
-        timer = TimerUtil.createNamedTimer("DefaultColorPipette", 5, e -> updatePipette());
+        pointerTracker = new PointerTracker("DefaultColorPipette", p -> updatePipette());
         borderColor = UIManager.getColor("ColorChooser.pipetteBorderColor");
     }
 
@@ -67,13 +67,13 @@ public class DefaultColorPipette extends ColorPipetteBase {
     @Override
     public Window show() {
         Window picker = super.show();
-        timer.start();
+        pointerTracker.start();
         return picker;
     }
 
     @Override
     public void cancelPipette() {
-        timer.stop();
+        pointerTracker.stop();
         super.cancelPipette();
     }
 
@@ -89,12 +89,6 @@ public class DefaultColorPipette extends ColorPipetteBase {
                     updatePipette();
                 }
             });
-            pickerWindow.addMouseMotionListener(new MouseAdapter() {
-                @Override
-                public void mouseMoved(final MouseEvent e) {
-                    updatePipette();
-                }
-            });
             pickerWindow.addFocusListener(new FocusAdapter() {
                 @Override
                 public void focusLost(final FocusEvent e) {
@@ -153,7 +147,7 @@ public class DefaultColorPipette extends ColorPipetteBase {
 
     @Override
     public void dispose() {
-        timer.stop();
+        pointerTracker.stop();
         super.dispose();
         if (zoomGraphics != null) {
             zoomGraphics.dispose();
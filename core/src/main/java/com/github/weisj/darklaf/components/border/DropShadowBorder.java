@@ -25,14 +25,14 @@
 package com.github.weisj.darklaf.components.border;
 
 import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
-import java.awt.image.ConvolveOp;
-import java.awt.image.Kernel;
 import java.io.Serializable;
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import javax.swing.border.Border;
 
@@ -48,16 +48,20 @@ import com.github.weisj.darklaf.graphics.ImageUtil;
  * </p>
  * <p>
  * Note: Since generating drop shadows is relatively expensive operation,
- * {@code DropShadowBorder} keeps internal static cache that allows sharing same border for multiple re-rendering and
- * between different instances of the class. Since this cache is shared at class level and never reset, it might bleed
- * your app memory in case you tend to create many different borders rapidly.
+ * {@code DropShadowBorder} keeps an internal static cache that allows sharing same border for multiple re-rendering
+ * and between different instances of the class. The images are rendered for the scale of the graphics they are
+ * painted on. The cache holds at most {@link #getCacheCapacity()} shadows and evicts the least recently used ones.
  * </p>
  *
  * @author rbair Adaptions made by
  * @author Jannis Weis
  */
 public class DropShadowBorder implements Border, Serializable {
-    private static final Map<Integer, BufferedImage[]> CACHE = new HashMap<>();
+    private static final int DEFAULT_CACHE_CAPACITY = 32;
+    private static final Map<ShadowKey, BufferedImage[]> CACHE = new LinkedHashMap<>(16, 0.75f, true);
+    private static int cacheCapacity = DEFAULT_CACHE_CAPACITY;
+    private static long cacheHits;
+    private static long cacheMisses;
     private Color shadowColor;
     private int shadowSize;
     private float shadowOpacity;
@@ -208,126 +212,235 @@ public class DropShadowBorder implements Border, Serializable {
 
             if (showLeftShadow || showTopShadow) {
                 assert topLeftShadowPoint != null;
-                g2.drawImage(images[Position.TOP_LEFT.ordinal()], topLeftShadowPoint.x, topLeftShadowPoint.y, null);
+                g2.drawImage(images[Position.TOP_LEFT.ordinal()], topLeftShadowPoint.x, topLeftShadowPoint.y,
+                             shadowSize, shadowSize, null);
             }
             if (showLeftShadow || showBottomShadow) {
                 assert bottomLeftShadowPoint != null;
                 g2.drawImage(images[Position.BOTTOM_LEFT.ordinal()], bottomLeftShadowPoint.x, bottomLeftShadowPoint.y,
-                             null);
+                             shadowSize, shadowSize, null);
             }
             if (showRightShadow || showBottomShadow) {
                 assert bottomRightShadowPoint != null;
                 g2.drawImage(images[Position.BOTTOM_RIGHT.ordinal()], bottomRightShadowPoint.x,
-                             bottomRightShadowPoint.y, null);
+                             bottomRightShadowPoint.y, shadowSize, shadowSize, null);
             }
             if (showRightShadow || showTopShadow) {
                 assert topRightShadowPoint != null;
-                g2.drawImage(images[Position.TOP_RIGHT.ordinal()], topRightShadowPoint.x, topRightShadowPoint.y, null);
+                g2.drawImage(images[Position.TOP_RIGHT.ordinal()], topRightShadowPoint.x, topRightShadowPoint.y,
+                             shadowSize, shadowSize, null);
             }
         } finally {
             g2.dispose();
         }
     }
 
-    @SuppressWarnings("SuspiciousNameCombination")
-
     private BufferedImage[] getImages(final Graphics2D g2) {
         // first, check to see if an image for this size has already been rendered
         // if so, use the cache. Else, draw and save
-        BufferedImage[] images = CACHE.get(getBorderHash(shadowSize, shadowOpacity, shadowColor));
-        if (images == null) {
-            images = new BufferedImage[Position.count()];
-
-            /*
-             * To draw a drop shadow, I have to:
-             * 1) Create a rounded rectangle
-             * 2) Create a BufferedImage to draw the rounded rect in
-             * 3) Translate the graphics for the image, so that the rectangle
-             * is centered in the drawn space. The border around the rectangle
-             * needs to be shadowWidth wide, so that there is space for the
-             * shadow to be drawn.
-             * 4) Draw the rounded rect as shadowColor, with an opacity of shadowOpacity
-             * 5) Create the BLUR_KERNEL
-             * 6) Blur the image
-             * 7) copy off the corners, sides, etc into images to be used for
-             * drawing the Border
-             */
-            int rectWidth = cornerSize + 1;
-            RoundRectangle2D rect = new RoundRectangle2D.Double(0, 0, rectWidth, rectWidth, cornerSize, cornerSize);
-            int imageWidth = rectWidth + shadowSize * 2;
-            BufferedImage image = ImageUtil.createCompatibleTranslucentImage(imageWidth, imageWidth);
-            Graphics2D buffer = (Graphics2D) image.getGraphics();
-
-            try {
-                buffer.setPaint(new Color(shadowColor.getRed(), shadowColor.getGreen(),
-                                          shadowColor.getBlue(), (int) (shadowOpacity * 255)));
-                buffer.translate(shadowSize, shadowSize);
-                buffer.fill(rect);
-            } finally {
-                buffer.dispose();
+        AffineTransform at = g2.getTransform();
+        double scale = Math.max(Math.abs(at.getScaleX()), Math.abs(at.getScaleY()));
+        if (scale <= 0) scale = 1;
+        ShadowKey key = new ShadowKey(shadowSize, shadowOpacity, shadowColor, cornerSize, scale);
+        synchronized (CACHE) {
+            BufferedImage[] images = CACHE.get(key);
+            if (images != null) {
+                cacheHits++;
+                return images;
             }
+            cacheMisses++;
+        }
+        BufferedImage[] images = createImages(scale);
+        synchronized (CACHE) {
+            CACHE.put(key, images);
+            trimCache();
+        }
+        return images;
+    }
+
+    @SuppressWarnings("SuspiciousNameCombination")
+    private BufferedImage[] createImages(final double scale) {
+        BufferedImage[] images = new BufferedImage[Position.count()];
+
+        /*
+         * To draw a drop shadow, I have to:
+         * 1) Create a rounded rectangle
+         * 2) Draw the coverage of the rounded rect into an alpha mask. The border around the rectangle
+         * needs to be shadowWidth wide, so that there is space for the shadow to be drawn.
+         * The mask is rendered in device pixels.
+         * 3) Blur the mask
+         * 4) Create the image from the mask using shadowColor, with an opacity of shadowOpacity
+         * 5) copy off the corners, sides, etc into images to be used for
+         * drawing the Border
+         */
+        int size = scaled(shadowSize, scale);
+        int rectWidth = scaled(cornerSize + 1, scale);
+        int imageWidth = rectWidth + size * 2;
+        BufferedImage mask = new BufferedImage(imageWidth, imageWidth, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D buffer = mask.createGraphics();
+
+        try {
+            buffer.setColor(Color.WHITE);
+            buffer.translate(size, size);
+            buffer.fill(new RoundRectangle2D.Double(0, 0, rectWidth, rectWidth,
+                                                    cornerSize * scale, cornerSize * scale));
+        } finally {
+            buffer.dispose();
+        }
 
-            float blurry = 1.0f / (float) (shadowSize * shadowSize);
-            float[] blurKernel = new float[shadowSize * shadowSize];
-            Arrays.fill(blurKernel, blurry);
-            ConvolveOp blur = new ConvolveOp(new Kernel(shadowSize, shadowSize, blurKernel));
-            BufferedImage targetImage = ImageUtil.createCompatibleTranslucentImage(imageWidth, imageWidth);
-            ((Graphics2D) targetImage.getGraphics()).drawImage(image, blur, -(shadowSize / 2), -(shadowSize / 2));
-
-            int x = 1;
-            int y = 1;
-            int w = shadowSize;
-            int h = shadowSize;
-            images[Position.TOP_LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = 1;
-            y = h;
-            w = shadowSize;
-            h = 1;
-            images[Position.LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = 1;
-            y = rectWidth;
-            w = shadowSize;
-            h = shadowSize;
-            images[Position.BOTTOM_LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = cornerSize + 1;
-            y = rectWidth;
-            w = 1;
-            h = shadowSize;
-            images[Position.BOTTOM.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = rectWidth;
-            y = x;
-            w = shadowSize;
-            h = shadowSize;
-            images[Position.BOTTOM_RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = rectWidth;
-            y = cornerSize + 1;
-            w = shadowSize;
-            h = 1;
-            images[Position.RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = rectWidth;
-            y = 1;
-            w = shadowSize;
-            h = shadowSize;
-            images[Position.TOP_RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
-            x = shadowSize;
-            y = 1;
-            w = 1;
-            h = shadowSize;
-            images[Position.TOP.ordinal()] = getSubImage(targetImage, x, y, w, h);
-
-            image.flush();
-            CACHE.put(getBorderHash(shadowSize, shadowOpacity, shadowColor), images);
+        int[] alpha = new int[imageWidth * imageWidth];
+        mask.getRaster().getSamples(0, 0, imageWidth, imageWidth, 0, alpha);
+        mask.flush();
+        int[] blurred = blur(alpha, imageWidth, size);
+
+        int rgb = shadowColor.getRGB() & 0x00FFFFFF;
+        float opacity = Math.max(0, Math.min(1, shadowOpacity));
+        int[] argb = new int[blurred.length];
+        for (int i = 0; i < argb.length; i++) {
+            int a = Math.round(blurred[i] * opacity);
+            argb[i] = (a << 24) | rgb;
         }
+        BufferedImage targetImage = new BufferedImage(imageWidth, imageWidth, BufferedImage.TYPE_INT_ARGB);
+        targetImage.setRGB(0, 0, imageWidth, imageWidth, argb, 0, imageWidth);
+
+        int one = scaled(1, scale);
+        int x = one;
+        int y = one;
+        int w = size;
+        int h = size;
+        images[Position.TOP_LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = one;
+        y = h;
+        w = size;
+        h = 1;
+        images[Position.LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = one;
+        y = rectWidth;
+        w = size;
+        h = size;
+        images[Position.BOTTOM_LEFT.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = rectWidth;
+        y = rectWidth;
+        w = 1;
+        h = size;
+        images[Position.BOTTOM.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = rectWidth;
+        y = x;
+        w = size;
+        h = size;
+        images[Position.BOTTOM_RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = rectWidth;
+        y = rectWidth;
+        w = size;
+        h = 1;
+        images[Position.RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = rectWidth;
+        y = one;
+        w = size;
+        h = size;
+        images[Position.TOP_RIGHT.ordinal()] = getSubImage(targetImage, x, y, w, h);
+        x = size;
+        y = one;
+        w = 1;
+        h = size;
+        images[Position.TOP.ordinal()] = getSubImage(targetImage, x, y, w, h);
+
+        targetImage.flush();
         return images;
     }
 
-    private static int getBorderHash(final int shadowSize, final float opacity, final Color shadowColor) {
-        int result = shadowSize;
-        result = 31 * result + (opacity != +0.0f ? Float.floatToIntBits(opacity) : 0);
-        result = 31 * result + (shadowColor != null ? shadowColor.hashCode() : 0);
+    private static int scaled(final int value, final double scale) {
+        return Math.max(1, (int) Math.round(value * scale));
+    }
+
+    /*
+     * Box blur with a kernel of size x size computed as two separate one dimensional passes. Pixels for which the
+     * kernel doesn't fit into the image are left empty and the result is shifted by half the kernel size towards the
+     * top left. This matches drawing the image through a ConvolveOp at an offset of -(size / 2).
+     */
+    private static int[] blur(final int[] src, final int width, final int size) {
+        // The origin of the Kernel used by ConvolveOp.
+        int kernelOrigin = (size - 1) / 2;
+        // ConvolveOp applies the kernel mirrored, hence the summed window starts size - 1 - kernelOrigin pixels
+        // before the target pixel. This only differs from kernelOrigin for even kernel sizes.
+        int windowOffset = size - 1 - kernelOrigin;
+        int drawOffset = size / 2;
+        int start = windowOffset;
+        int end = width - kernelOrigin;
+        int[] horizontal = new int[src.length];
+        for (int y = 0; y < width; y++) {
+            int row = y * width;
+            for (int x = start; x < end; x++) {
+                int sum = 0;
+                int from = row + x - windowOffset;
+                for (int i = 0; i < size; i++) {
+                    sum += src[from + i];
+                }
+                horizontal[row + x] = sum;
+            }
+        }
+        int[] result = new int[src.length];
+        float norm = 1f / (size * size);
+        for (int y = 0; y < width; y++) {
+            int sy = y + drawOffset;
+            if (sy < start || sy >= end) continue;
+            for (int x = 0; x < width; x++) {
+                int sx = x + drawOffset;
+                if (sx < start || sx >= end) continue;
+                int sum = 0;
+                for (int j = 0; j < size; j++) {
+                    sum += horizontal[(sy - windowOffset + j) * width + sx];
+                }
+                result[y * width + x] = Math.min(255, Math.round(sum * norm));
+            }
+        }
         return result;
     }
 
+    private static void trimCache() {
+        Iterator<BufferedImage[]> iterator = CACHE.values().iterator();
+        while (CACHE.size() > cacheCapacity && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Sets the maximum number of shadows kept in the shared cache.
+     *
+     * @param capacity the capacity.
+     */
+    public static void setCacheCapacity(final int capacity) {
+        synchronized (CACHE) {
+            cacheCapacity = Math.max(0, capacity);
+            trimCache();
+        }
+    }
+
+    public static int getCacheCapacity() {
+        synchronized (CACHE) {
+            return cacheCapacity;
+        }
+    }
+
+    public static long getCacheHits() {
+        synchronized (CACHE) {
+            return cacheHits;
+        }
+    }
+
+    public static long getCacheMisses() {
+        synchronized (CACHE) {
+            return cacheMisses;
+        }
+    }
+
+    public static void clearCache() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
     /**
      * Returns a new BufferedImage that represents a subregion of the given BufferedImage. (Note that this method does
      * not use BufferedImage.getSubimage(), which will defeat image acceleration strategies on later JDKs.)
@@ -436,6 +549,38 @@ public class DropShadowBorder implements Border, Serializable {
         return this;
     }
 
+    private static final class ShadowKey {
+        private final int shadowSize;
+        private final float opacity;
+        private final int color;
+        private final int cornerSize;
+        private final double scale;
+
+        private ShadowKey(final int shadowSize, final float opacity, final Color color, final int cornerSize,
+                          final double scale) {
+            this.shadowSize = shadowSize;
+            this.opacity = opacity;
+            this.color = color.getRGB();
+            this.cornerSize = cornerSize;
+            this.scale = scale;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ShadowKey)) return false;
+            ShadowKey other = (ShadowKey) o;
+            return shadowSize == other.shadowSize && Float.compare(opacity, other.opacity) == 0
+                   && color == other.color && cornerSize == other.cornerSize
+                   && Double.compare(scale, other.scale) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(shadowSize, opacity, color, cornerSize, scale);
+        }
+    }
+
     private enum Position {
         TOP,
         TOP_LEFT,
@@ -24,10 +24,13 @@
  */
 package com.github.weisj.darklaf.components.text;
 
+import java.beans.PropertyChangeListener;
 import java.util.*;
 import java.util.stream.Collectors;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.text.*;
 
 import com.github.weisj.darklaf.util.StringUtil;
@@ -39,11 +42,46 @@ public class NumberingPane extends JComponent {
     public static final String KEY_MIN_ICON_WIDTH = "minimumIconWidth";
     private JTextComponent textComponent;
     private final Map<Position, Icon> iconMap;
+    /*
+     * The icon positions ordered by offset. Edits usually don't change the relative order of positions. However undoing
+     * a removal restores collapsed positions to their old offsets, which may reorder them. Hence the list is sorted
+     * again after text has been inserted.
+     */
+    private final List<Position> iconPositions;
+    private boolean positionsSorted = true;
+    private final DocumentListener documentListener = new DocumentListener() {
+        @Override
+        public void insertUpdate(final DocumentEvent e) {
+            positionsSorted = false;
+        }
+
+        @Override
+        public void removeUpdate(final DocumentEvent e) {}
+
+        @Override
+        public void changedUpdate(final DocumentEvent e) {}
+    };
+    private final PropertyChangeListener documentChangeListener = e -> {
+        if (e.getOldValue() instanceof Document) {
+            ((Document) e.getOldValue()).removeDocumentListener(documentListener);
+        }
+        if (e.getNewValue() instanceof Document) {
+            ((Document) e.getNewValue()).addDocumentListener(documentListener);
+        }
+        positionsSorted = false;
+    };
+    /*
+     * The number of icons for each icon width. Icons are assumed to keep their width while they are added to the
+     * pane. An icon changing its width has to be removed and added again.
+     */
+    private final NavigableMap<Integer, Integer> iconWidths;
     private final Map<Position, List<IconListener>> listenerMap;
     private int width;
 
     public NumberingPane() {
         iconMap = new HashMap<>();
+        iconPositions = new ArrayList<>();
+        iconWidths = new TreeMap<>();
         listenerMap = new HashMap<>();
         updateUI();
     }
@@ -68,7 +106,16 @@ public class NumberingPane extends JComponent {
 
     public void setTextComponent(final JTextComponent textComponent) {
         JTextComponent old = this.textComponent;
+        if (old != null) {
+            old.removePropertyChangeListener("document", documentChangeListener);
+            old.getDocument().removeDocumentListener(documentListener);
+        }
         this.textComponent = textComponent;
+        if (textComponent != null) {
+            textComponent.addPropertyChangeListener("document", documentChangeListener);
+            textComponent.getDocument().addDocumentListener(documentListener);
+        }
+        positionsSorted = false;
         firePropertyChange(KEY_EDITOR, old, textComponent);
     }
 
@@ -77,12 +124,83 @@ public class NumberingPane extends JComponent {
     }
 
     public List<Map.Entry<Position, Icon>> getIconsInRange(final int startOff, final int endOff) {
-        return iconMap.entrySet().stream()
-                      .filter(e -> {
-                          Position pos = e.getKey();
-                          return pos.getOffset() >= startOff && pos.getOffset() <= endOff;
-                      })
-                      .collect(Collectors.toList());
+        List<Map.Entry<Position, Icon>> icons = new ArrayList<>();
+        int size = iconPositions.size();
+        for (int i = lowerBound(startOff); i < size; i++) {
+            Position pos = iconPositions.get(i);
+            if (pos.getOffset() > endOff) break;
+            Icon icon = iconMap.get(pos);
+            if (icon != null) icons.add(new AbstractMap.SimpleImmutableEntry<>(pos, icon));
+        }
+        return icons;
+    }
+
+    /**
+     * Returns the maximum width of all icons.
+     *
+     * @return the maximum icon width or 0 if there are no icons.
+     */
+    public int getMaxIconWidth() {
+        return iconWidths.isEmpty() ? 0 : iconWidths.lastKey();
+    }
+
+    /*
+     * The index of the first icon position with an offset greater or equal than the given offset.
+     */
+    private int lowerBound(final int offset) {
+        ensurePositionsSorted();
+        int low = 0;
+        int high = iconPositions.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (iconPositions.get(mid).getOffset() < offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void ensurePositionsSorted() {
+        if (positionsSorted) return;
+        // The list is almost sorted, for which the merge sort of List#sort is linear.
+        iconPositions.sort(Comparator.comparingInt(Position::getOffset));
+        positionsSorted = true;
+    }
+
+    private void addIcon(final Position pos, final Icon icon) {
+        Icon old = iconMap.put(pos, icon);
+        if (old != null) {
+            removeIconWidth(old);
+        } else {
+            int index = lowerBound(pos.getOffset() + 1);
+            iconPositions.add(index, pos);
+        }
+        iconWidths.merge(icon.getIconWidth(), 1, Integer::sum);
+    }
+
+    private Icon removeIcon(final Position pos) {
+        Icon icon = iconMap.remove(pos);
+        if (icon == null) return null;
+        int size = iconPositions.size();
+        int offset = pos.getOffset();
+        boolean removed = false;
+        for (int i = lowerBound(offset); i < size && iconPositions.get(i).getOffset() == offset; i++) {
+            if (iconPositions.get(i) == pos) {
+                iconPositions.remove(i);
+                removed = true;
+                break;
+            }
+        }
+        // Fall back to a full scan in case the order couldn't be restored yet.
+        if (!removed) iconPositions.remove(pos);
+        removeIconWidth(icon);
+        return icon;
+    }
+
+    private void removeIconWidth(final Icon icon) {
+        iconWidths.computeIfPresent(icon.getIconWidth(), (w, count) -> count > 1 ? count - 1 : null);
     }
 
     public Position addIconAtLine(final int lineIndex, final Icon icon) throws BadLocationException {
@@ -114,7 +232,7 @@ public class NumberingPane extends JComponent {
         Document doc = textComponent.getDocument();
         Position pos = doc.createPosition(offset);
         if (icon != null) {
-            iconMap.put(pos, icon);
+            addIcon(pos, icon);
         }
         firePropertyChange(KEY_ICONS, null, icon);
         return pos;
@@ -188,7 +306,7 @@ public class NumberingPane extends JComponent {
     }
 
     public void removeIconAt(final Position position) {
-        Icon icon = iconMap.remove(position);
+        Icon icon = removeIcon(position);
         firePropertyChange(KEY_ICONS, icon, icon);
     }
 
@@ -24,24 +24,19 @@
  */
 package com.github.weisj.darklaf.graphics;
 
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
-
 import javax.swing.*;
 
 /**
+ * Frames are advanced by the shared {@link FrameClock}.
+ *
  * @author Konstantin Bulenkov
  */
 public abstract class Animator {
-    private final static ScheduledExecutorService scheduler = createScheduler();
     private final int totalFrames;
     private final int cycleDuration;
     private final boolean forward;
     private final boolean repeatable;
-    private ScheduledFuture<?> ticker;
+    private volatile boolean running;
     private int startFrame;
     private int currentFrame;
     private long startTime;
@@ -79,19 +74,6 @@ public abstract class Animator {
         if (!forward) currentFrame = totalFrames - currentFrame;
     }
 
-    private static ScheduledExecutorService createScheduler() {
-        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
-            final Thread thread = new Thread(r, "Animations Thread");
-            thread.setDaemon(true);
-            thread.setPriority(Thread.MAX_PRIORITY);
-            return thread;
-        });
-        executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
-        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
-        return executor;
-
-    }
-
     public void suspend() {
         resetTime();
         reset();
@@ -99,9 +81,9 @@ public abstract class Animator {
     }
 
     private void stopTicker() {
-        if (ticker != null) {
-            ticker.cancel(false);
-            ticker = null;
+        if (running) {
+            running = false;
+            FrameClock.remove(this);
         }
     }
 
@@ -117,22 +99,10 @@ public abstract class Animator {
             currentFrame = totalFrames - 1;
             paint();
             animationDone();
-        } else if (ticker == null) {
+        } else if (!running && !isDisposed()) {
             this.startFrame = startFrame;
-            ticker = scheduler.scheduleWithFixedDelay(new Runnable() {
-                final AtomicBoolean isScheduled = new AtomicBoolean(false);
-
-                @Override
-                public void run() {
-                    if (!isScheduled.get() && !isDisposed()) {
-                        isScheduled.set(true);
-                        SwingUtilities.invokeLater(() -> {
-                            onTick();
-                            isScheduled.set(false);
-                        });
-                    }
-                }
-            }, 0, cycleDuration * 1000 / totalFrames, TimeUnit.MICROSECONDS);
+            running = true;
+            FrameClock.add(this);
         }
     }
 
@@ -149,8 +119,8 @@ public abstract class Animator {
         return disposed;
     }
 
-    private void onTick() {
-        if (isDisposed() || ticker == null) return;
+    void onTick() {
+        if (isDisposed() || !running) return;
 
         if (startTime == -1) {
             startTime = System.currentTimeMillis();
@@ -188,7 +158,7 @@ public abstract class Animator {
     }
 
     public boolean isRunning() {
-        return ticker != null;
+        return running;
     }
 
     public final boolean isForward() {
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.*;
+
+/**
+ * Clock driving all running {@link Animator}s. Once per frame a single task is posted to the event dispatch thread
+ * which advances every active animator. Repaints issued by the animators are therefore collected by the
+ * {@link RepaintManager} and painted together. The clock stops once no animation is running.
+ *
+ * @author Jannis Weis
+ */
+public final class FrameClock {
+
+    private static final int DEFAULT_FRAME_RATE = 60;
+    private static final ScheduledExecutorService scheduler = createScheduler();
+    private static final List<Animator> animators = new CopyOnWriteArrayList<>();
+    private static final AtomicBoolean framePending = new AtomicBoolean(false);
+    private static final Object lock = new Object();
+    private static ScheduledFuture<?> ticker;
+    private static int frameRate = DEFAULT_FRAME_RATE;
+
+    private FrameClock() {}
+
+    private static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread thread = new Thread(r, "Animations Thread");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            return thread;
+        });
+        executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
+    }
+
+    /**
+     * Sets the number of frames per second at which animations are advanced. The default is 60.
+     *
+     * @param fps the frame rate.
+     */
+    public static void setFrameRate(final int fps) {
+        if (fps <= 0) {
+            throw new IllegalArgumentException("Frame rate must be positive.");
+        }
+        synchronized (lock) {
+            frameRate = fps;
+            if (ticker != null) {
+                ticker.cancel(false);
+                startTicker();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of frames per second at which animations are advanced.
+     *
+     * @return the frame rate.
+     */
+    public static int getFrameRate() {
+        synchronized (lock) {
+            return frameRate;
+        }
+    }
+
+    /**
+     * Returns whether the clock is running i.e. whether any animation is active.
+     *
+     * @return true if running.
+     */
+    public static boolean isRunning() {
+        synchronized (lock) {
+            return ticker != null;
+        }
+    }
+
+    static void add(final Animator animator) {
+        synchronized (lock) {
+            if (!animators.contains(animator)) animators.add(animator);
+            if (ticker == null) startTicker();
+        }
+    }
+
+    static void remove(final Animator animator) {
+        animators.remove(animator);
+    }
+
+    private static void startTicker() {
+        ticker = scheduler.scheduleAtFixedRate(FrameClock::requestFrame, 0, 1000000 / frameRate,
+                                               TimeUnit.MICROSECONDS);
+    }
+
+    private static void stopIfIdle() {
+        synchronized (lock) {
+            if (animators.isEmpty() && ticker != null) {
+                ticker.cancel(false);
+                ticker = null;
+            }
+        }
+    }
+
+    private static void requestFrame() {
+        if (framePending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(FrameClock::doFrame);
+        }
+    }
+
+    private static void doFrame() {
+        for (Animator animator : animators) {
+            animator.onTick();
+        }
+        framePending.set(false);
+        stopIfIdle();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.task;
+
+import java.util.*;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.theme.Theme;
+
+/**
+ * Snapshot of the changes a {@link DefaultsInitTask} applied to a {@link UIDefaults} table. Replaying the snapshot
+ * yields the same defaults without reading and parsing the property files again.
+ *
+ * @author Jannis Weis
+ */
+final class DefaultsSnapshot {
+
+    private final Map<Object, Object> values;
+    private final Set<Object> removedKeys;
+
+    private DefaultsSnapshot(final Map<Object, Object> values, final Set<Object> removedKeys) {
+        this.values = values;
+        this.removedKeys = removedKeys;
+    }
+
+    /**
+     * Create a snapshot from the state of the defaults before and after running a task.
+     *
+     * @param  before the contents of the defaults before the task was run.
+     * @param  after  the defaults after the task was run.
+     * @return        the snapshot.
+     */
+    static DefaultsSnapshot create(final Map<Object, Object> before, final UIDefaults after) {
+        Map<Object, Object> values = new HashMap<>();
+        Set<Object> removedKeys = new HashSet<>();
+        for (Map.Entry<Object, Object> entry : after.entrySet()) {
+            Object key = entry.getKey();
+            Object value = entry.getValue();
+            if (!before.containsKey(key) || before.get(key) != value) {
+                values.put(key, value);
+            }
+        }
+        for (Object key : before.keySet()) {
+            if (!after.containsKey(key)) removedKeys.add(key);
+        }
+        return new DefaultsSnapshot(values, removedKeys);
+    }
+
+    /**
+     * Apply the recorded changes to the given defaults.
+     *
+     * @param defaults the defaults.
+     */
+    void applyTo(final UIDefaults defaults) {
+        for (Object key : removedKeys) {
+            defaults.remove(key);
+        }
+        defaults.putAll(values);
+    }
+
+    /**
+     * The key identifying a snapshot. Two themes share a snapshot if they appear equal and are loaded on the same
+     * operating system with the same decoration and menu bar settings.
+     */
+    static final class Key {
+
+        private final Class<? extends Theme> themeClass;
+        private final String themeName;
+        private final Object fontSizeRule;
+        private final Object accentColorRule;
+        private final Object colorToneRule;
+        private final Object contrastRule;
+        private final String osName;
+        private final boolean decorationsEnabled;
+        private final boolean useScreenMenuBar;
+
+        Key(final Theme theme, final String osName, final boolean decorationsEnabled,
+            final boolean useScreenMenuBar) {
+            this.themeClass = theme.getThemeClass();
+            this.themeName = theme.getName();
+            this.fontSizeRule = theme.getFontSizeRule();
+            this.accentColorRule = theme.getAccentColorRule();
+            this.colorToneRule = theme.getColorToneRule();
+            this.contrastRule = theme.getContrastRule();
+            this.osName = osName;
+            this.decorationsEnabled = decorationsEnabled;
+            this.useScreenMenuBar = useScreenMenuBar;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(themeClass, key.themeClass)
+                   && Objects.equals(themeName, key.themeName)
+                   && Objects.equals(fontSizeRule, key.fontSizeRule)
+                   && Objects.equals(accentColorRule, key.accentColorRule)
+                   && Objects.equals(colorToneRule, key.colorToneRule)
+                   && Objects.equals(contrastRule, key.contrastRule)
+                   && Objects.equals(osName, key.osName)
+                   && decorationsEnabled == key.decorationsEnabled
+                   && useScreenMenuBar == key.useScreenMenuBar;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(themeClass, themeName, fontSizeRule, accentColorRule, colorToneRule, contrastRule,
+                                osName, decorationsEnabled, useScreenMenuBar);
+        }
+    }
+}
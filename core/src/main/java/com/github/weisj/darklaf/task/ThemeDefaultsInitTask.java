@@ -25,19 +25,25 @@
 package com.github.weisj.darklaf.task;
 
 import java.awt.*;
-import java.util.HashMap;
-import java.util.Properties;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import javax.swing.*;
 
 import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.LafManager;
 import com.github.weisj.darklaf.PropertyLoader;
 import com.github.weisj.darklaf.platform.DecorationsHandler;
 import com.github.weisj.darklaf.theme.Theme;
+import com.github.weisj.darklaf.util.PropertyValue;
 import com.github.weisj.darklaf.util.SystemInfo;
 
 public class ThemeDefaultsInitTask implements DefaultsInitTask {
 
+    public static final String SNAPSHOT_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "themeSnapshots";
     private static final String GLOBAL_PREFIX = "global.";
     private static final String MAC_OS_MENU_BAR_KEY = "apple.laf.useScreenMenuBar";
     private static final String[] UI_PROPERTIES = new String[]{"borders", "button", "cell", "checkBox", "colorChooser",
@@ -54,13 +60,65 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
     private final DefaultsAdjustmentTask userPreferenceAdjustment = new UserDefaultsAdjustmentTask();
     private final DefaultsAdjustmentTask accentColorAdjustment = new AccentColorAdjustmentTask();
     private final DefaultsAdjustmentTask foregroundGeneration = new ForegroundColorGenerationTask();
+    private static final Map<DefaultsSnapshot.Key, DefaultsSnapshot> snapshots = new HashMap<>();
 
     @Override
     public void run(final Theme currentTheme, final UIDefaults defaults) {
-        loadThemeDefaults(currentTheme, defaults);
+        if (!isSnapshotEnabled()) {
+            loadThemeDefaults(currentTheme, defaults);
+            return;
+        }
+        /*
+         * The decoration properties and the platform specific adjustments depend on these settings.
+         */
+        DefaultsSnapshot.Key key = new DefaultsSnapshot.Key(currentTheme, getOsName(),
+                                                            DecorationsHandler.getSharedInstance()
+                                                                              .isCustomDecorationSupported(),
+                                                            Boolean.getBoolean(MAC_OS_MENU_BAR_KEY));
+        DefaultsSnapshot snapshot;
+        synchronized (snapshots) {
+            snapshot = snapshots.get(key);
+        }
+        if (snapshot == null) {
+            Map<Object, Object> before = new HashMap<>(defaults);
+            loadThemeDefaults(currentTheme, defaults);
+            snapshot = DefaultsSnapshot.create(before, defaults);
+            synchronized (snapshots) {
+                snapshots.put(key, snapshot);
+            }
+        } else {
+            snapshot.applyTo(defaults);
+        }
+    }
+
+    /**
+     * Discard all snapshots of previously loaded theme defaults. The next time the defaults are requested all
+     * properties are loaded from their resources again.
+     */
+    public static void clearSnapshots() {
+        synchronized (snapshots) {
+            snapshots.clear();
+        }
+    }
+
+    /*
+     * User adjustment tasks may depend on arbitrary state, hence the result can't be reused if any are registered.
+     */
+    private boolean isSnapshotEnabled() {
+        return !PropertyValue.FALSE.equals(System.getProperty(SNAPSHOT_FLAG))
+               && LafManager.getUserDefaultsAdjustmentTasks().isEmpty();
     }
 
     private void loadThemeDefaults(final Theme currentTheme, final UIDefaults defaults) {
+        /*
+         * Reading the property files doesn't depend on anything else and can be done in parallel. Parsing the
+         * values has to happen sequentially as values may reference previously loaded values.
+         */
+        Future<Properties> globals = loadAsync("globals", "properties/");
+        List<Future<Properties>> uiProperties = loadAsync(UI_PROPERTIES, "properties/ui/");
+        List<Future<Properties>> iconProperties = loadAsync(ICON_PROPERTIES, "properties/icons/");
+        Future<Properties> platformProperties = loadAsync(getOsName(), "properties/platform/");
+
         Properties uiProps = new Properties();
         currentTheme.loadDefaults(uiProps, defaults);
 
@@ -76,19 +134,39 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
         accentColorAdjustment.run(currentTheme, uiProps);
         foregroundGeneration.run(currentTheme, uiProps);
 
-        initGlobals(currentTheme, defaults, uiProps);
-        initUIProperties(currentTheme, defaults, uiProps);
-        initIconTheme(currentTheme, defaults, uiProps);
-        initPlatformProperties(currentTheme, defaults, uiProps);
+        initGlobals(currentTheme, defaults, uiProps, globals);
+        initUIProperties(currentTheme, defaults, uiProps, uiProperties);
+        initIconTheme(currentTheme, defaults, uiProps, iconProperties);
+        initPlatformProperties(currentTheme, defaults, uiProps, platformProperties);
 
         DecorationsHandler.getSharedInstance().loadDecorationProperties(uiProps, defaults);
         adjustPlatformSpecifics(uiProps);
         defaults.putAll(uiProps);
     }
 
-    private void initGlobals(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
-        PropertyLoader.putProperties(PropertyLoader.loadProperties(DarkLaf.class, "globals", "properties/"), uiProps,
-                                     defaults);
+    private Future<Properties> loadAsync(final String name, final String path) {
+        return CompletableFuture.supplyAsync(() -> PropertyLoader.loadProperties(DarkLaf.class, name, path));
+    }
+
+    private List<Future<Properties>> loadAsync(final String[] names, final String path) {
+        List<Future<Properties>> properties = new ArrayList<>(names.length);
+        for (String name : names) {
+            properties.add(loadAsync(name, path));
+        }
+        return properties;
+    }
+
+    private Properties getProperties(final Future<Properties> properties) {
+        try {
+            return properties.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("Could not load properties. " + e.getMessage(), e);
+        }
+    }
+
+    private void initGlobals(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps,
+                             final Future<Properties> globals) {
+        PropertyLoader.putProperties(getProperties(globals), uiProps, defaults);
 
         currentTheme.customizeGlobals(uiProps, defaults);
         installGlobals(uiProps, defaults);
@@ -110,26 +188,26 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
                                          });
     }
 
-    private void initUIProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
-        for (String property : UI_PROPERTIES) {
-            PropertyLoader.putProperties(PropertyLoader.loadProperties(DarkLaf.class, property, "properties/ui/"),
-                                         uiProps, defaults);
+    private void initUIProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps,
+                                  final List<Future<Properties>> uiProperties) {
+        for (Future<Properties> properties : uiProperties) {
+            PropertyLoader.putProperties(getProperties(properties), uiProps, defaults);
         }
         currentTheme.customizeUIProperties(uiProps, defaults);
     }
 
-    private void initIconTheme(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
+    private void initIconTheme(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps,
+                               final List<Future<Properties>> iconProperties) {
         currentTheme.loadIconTheme(uiProps, defaults);
-        for (String property : ICON_PROPERTIES) {
-            PropertyLoader.putProperties(PropertyLoader.loadProperties(DarkLaf.class, property, "properties/icons/"),
-                                         uiProps, defaults);
+        for (Future<Properties> properties : iconProperties) {
+            PropertyLoader.putProperties(getProperties(properties), uiProps, defaults);
         }
         currentTheme.customizeIconTheme(uiProps, defaults);
     }
 
-    private void initPlatformProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps) {
-        PropertyLoader.putProperties(PropertyLoader.loadProperties(DarkLaf.class, getOsName(), "properties/platform/"),
-                                     uiProps, defaults);
+    private void initPlatformProperties(final Theme currentTheme, final UIDefaults defaults, final Properties uiProps,
+                                        final Future<Properties> platformProperties) {
+        PropertyLoader.putProperties(getProperties(platformProperties), uiProps, defaults);
         currentTheme.customizePlatformProperties(uiProps, defaults);
     }
 
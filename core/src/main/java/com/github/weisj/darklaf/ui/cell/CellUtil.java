@@ -251,6 +251,15 @@ public class CellUtil {
                         tableCellInactiveForegroundNoFocus, tableCellInactiveForegroundSelectedNoFocus);
     }
 
+    public static void setupTableForeground(final Component comp, final JTable parent, final boolean selected,
+                                            final boolean focus) {
+        setupForeground(comp, parent, focus, selected, comp.isEnabled() && parent.isEnabled(),
+                        tableCellForeground, tableCellForegroundSelected,
+                        tableCellForegroundNoFocus, tableCellForegroundSelectedNoFocus,
+                        tableCellInactiveForeground, tableCellInactiveForegroundSelected,
+                        tableCellInactiveForegroundNoFocus, tableCellInactiveForegroundSelectedNoFocus);
+    }
+
     public static void setupTreeForeground(final Component comp, final JTree parent, final boolean selected) {
         setupForeground(comp, parent, selected,
                         treeCellForeground, treeCellForegroundSelected,
@@ -301,7 +310,12 @@ public class CellUtil {
     public static void setupTableBackground(final Component comp, final JTable parent, final boolean selected,
                                             final int row) {
         boolean alt = row % 2 == 1 && PropertyUtil.getBooleanProperty(parent, DarkTableUI.KEY_ALTERNATE_ROW_COLOR);
-        setupBackground(comp, hasFocus(parent, comp), selected,
+        setupTableBackground(comp, hasFocus(parent, comp), selected, alt);
+    }
+
+    public static void setupTableBackground(final Component comp, final boolean focus, final boolean selected,
+                                            final boolean alt) {
+        setupBackground(comp, focus, selected,
                         alt ? tableCellBackgroundAlternative : tableCellBackground,
                         tableCellBackgroundSelected,
                         alt ? tableCellBackgroundNoFocusAlternative : tableCellBackgroundNoFocus,
@@ -339,6 +353,12 @@ public class CellUtil {
                         treeCellInactiveBackgroundSelectedNoFocus);
     }
 
+    private static boolean isAlternateRowColor(final JList<?> list) {
+        ListUI ui = list.getUI();
+        if (ui instanceof DarkListUI) return ((DarkListUI) ui).isAlternateRowColor();
+        return PropertyUtil.getBooleanProperty(list, DarkListUI.KEY_ALTERNATE_ROW_COLOR);
+    }
+
     public static void setupListBackground(final Component comp, final JList<?> parent, final boolean selected,
                                            final int index) {
         int layout = parent.getLayoutOrientation();
@@ -354,7 +374,7 @@ public class CellUtil {
                 altRow = false;
             }
         }
-        boolean alt = altRow && PropertyUtil.getBooleanProperty(parent, DarkListUI.KEY_ALTERNATE_ROW_COLOR);
+        boolean alt = altRow && isAlternateRowColor(parent);
         setupBackground(comp, hasFocus(parent, comp), selected,
                         alt ? listCellBackgroundAlternative : listCellBackground,
                         listCellBackgroundSelected,
@@ -38,9 +38,11 @@ import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
 import java.awt.image.Raster;
 import java.awt.image.WritableRaster;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import javax.swing.*;
@@ -264,7 +266,7 @@ public class ColorTriangle extends JComponent {
         if (isHSB) {
             return Color.HSBtoRGB((float) h, (float) s, (float) v);
         } else {
-            return DarkColorModelHSL.getColorFromHSLValues(h, s, v).getRGB();
+            return DarkColorModelHSL.getRGBFromHSLValues(h, s, v);
         }
     }
 
@@ -600,6 +602,7 @@ public class ColorTriangle extends JComponent {
         protected double cx;
         protected double cy;
         protected AffineTransform transform;
+        private WritableRaster savedRaster;
 
         public void setHints(final Rectangle deviceBounds, final AffineTransform transform) {
             this.deviceBounds = deviceBounds;
@@ -609,13 +612,33 @@ public class ColorTriangle extends JComponent {
         }
 
         @Override
-        public void dispose() {}
+        public void dispose() {
+            savedRaster = null;
+        }
 
         @Override
         public ColorModel getColorModel() {
             return ColorModel.getRGBdefault();
         }
 
+        /**
+         * Returns a raster with the given size backed by an int array. The raster is reused for consecutive tiles.
+         *
+         * @param  w the width.
+         * @param  h the height.
+         * @return   the raster.
+         */
+        protected WritableRaster getCompatibleRaster(final int w, final int h) {
+            if (savedRaster == null || savedRaster.getWidth() != w || savedRaster.getHeight() != h) {
+                savedRaster = getColorModel().createCompatibleWritableRaster(w, h);
+            }
+            return savedRaster;
+        }
+
+        protected static int[] getData(final WritableRaster raster) {
+            return ((DataBufferInt) raster.getDataBuffer()).getData();
+        }
+
         protected void setPixel(final WritableRaster raster, final int i, final int j, final int rgb) {
             setPixel(raster, i, j, new int[]{(rgb >> 16) & 0xFF,
                                              (rgb >> 8) & 0xFF,
@@ -630,36 +653,107 @@ public class ColorTriangle extends JComponent {
 
     protected static class OuterPaintContext extends ColorWheelPaintContext {
 
+        private static final int HUE_STEPS = 4096;
+        private static final int[] HUE_TABLE = createHueTable();
+        /*
+         * The wheel only depends on the size of the device bounds, which already account for the scaling.
+         */
+        private static WritableRaster wheelCache;
+
+        private static int[] createHueTable() {
+            int[] table = new int[HUE_STEPS];
+            for (int i = 0; i < HUE_STEPS; i++) {
+                table[i] = Color.HSBtoRGB(i / (float) HUE_STEPS, 1.0f, 1.0f);
+            }
+            return table;
+        }
+
         @Override
         public Raster getRaster(final int x, final int y, final int w, final int h) {
-            WritableRaster raster = getColorModel().createCompatibleWritableRaster(w, h);
+            WritableRaster wheel = getWheel();
+            int dx = x - deviceBounds.x;
+            int dy = y - deviceBounds.y;
+            if (dx >= 0 && dy >= 0 && dx + w <= wheel.getWidth() && dy + h <= wheel.getHeight()) {
+                return wheel.createWritableChild(dx, dy, w, h, 0, 0, null);
+            }
+            WritableRaster raster = getCompatibleRaster(w, h);
+            fillWheel(getData(raster), x, y, w, h, cx, cy);
+            return raster;
+        }
+
+        private WritableRaster getWheel() {
+            synchronized (OuterPaintContext.class) {
+                WritableRaster wheel = wheelCache;
+                if (wheel == null || wheel.getWidth() != deviceBounds.width
+                    || wheel.getHeight() != deviceBounds.height) {
+                    wheel = getColorModel().createCompatibleWritableRaster(Math.max(1, deviceBounds.width),
+                                                                            Math.max(1, deviceBounds.height));
+                    fillWheel(getData(wheel), deviceBounds.x, deviceBounds.y, wheel.getWidth(), wheel.getHeight(),
+                              cx, cy);
+                    wheelCache = wheel;
+                }
+                return wheel;
+            }
+        }
+
+        private static void fillWheel(final int[] data, final int x, final int y, final int w, final int h,
+                                      final double cx, final double cy) {
+            int index = 0;
             for (int j = 0; j < h; j++) {
+                double py = y + j - cy;
                 for (int i = 0; i < w; i++) {
-                    float hue = (float) ((getWheelHue(x + i, y + j, cx, cy)));
-                    int rgb = Color.HSBtoRGB(hue, 1.0f, 1.0f);
-                    setPixel(raster, i, j, rgb);
+                    double hue = (Math.atan2(x + i - cx, py) - Math.PI / 2.0) / (2 * Math.PI);
+                    if (hue < 0) hue += 1;
+                    data[index++] = HUE_TABLE[(int) (hue * HUE_STEPS + 0.5) & (HUE_STEPS - 1)];
                 }
             }
-            return raster;
         }
     }
 
     protected class InnerPaintContext extends ColorWheelPaintContext {
 
+        private AffineTransform pixelTransform;
+
         public InnerPaintContext() {}
 
+        @Override
+        public void setHints(final Rectangle deviceBounds, final AffineTransform transform) {
+            super.setHints(deviceBounds, transform);
+            try {
+                // Maps device pixels directly into the coordinate system of the unrotated triangle.
+                pixelTransform = new AffineTransform(triangleInverse);
+                pixelTransform.concatenate(transform.createInverse());
+            } catch (NoninvertibleTransformException e) {
+                pixelTransform = null;
+            }
+        }
+
         @Override
         public Raster getRaster(final int x, final int y, final int w, final int h) {
-            WritableRaster raster = getColorModel().createCompatibleWritableRaster(w, h);
+            WritableRaster raster = getCompatibleRaster(w, h);
+            int[] data = getData(raster);
+            if (pixelTransform == null) {
+                Arrays.fill(data, 0, w * h, 0);
+                return raster;
+            }
+            double m00 = pixelTransform.getScaleX();
+            double m01 = pixelTransform.getShearX();
+            double m02 = pixelTransform.getTranslateX();
+            double m10 = pixelTransform.getShearY();
+            double m11 = pixelTransform.getScaleY();
+            double m12 = pixelTransform.getTranslateY();
+            double hue = getHue();
+            int index = 0;
             for (int j = 0; j < h; j++) {
+                double rowX = m00 * x + m01 * (y + j) + m02;
+                double rowY = m10 * x + m11 * (y + j) + m12;
                 for (int i = 0; i < w; i++) {
-                    dummy.setLocation((x + i), (y + j));
-                    try {
-                        transform.inverseTransform(dummy, dummy);
-                        triangleInverse.transform(dummy, dummy);
-                        Point2D sv = getSaturationAndValue(dummy.getX(), dummy.getY());
-                        setPixel(raster, i, j, getColorRGB(getHue(), sv.getX(), sv.getY()));
-                    } catch (NoninvertibleTransformException ignored) {}
+                    double x1 = (rowX + i * m00 - centerX) / innerRadius;
+                    double y1 = (rowY + i * m10 - centerY) / innerRadius;
+                    double d = SQRT3 * x1 - y1 + 2.0;
+                    double sat = Math.max(Math.min((1.0 - 2.0 * y1) / d, 1), 0);
+                    double val = Math.max(Math.min(d / 3.0, 1), 0);
+                    data[index++] = 0xFF000000 | getColorRGB(hue, sat, val);
                 }
             }
             return raster;
@@ -28,8 +28,9 @@ import java.awt.*;
 import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
 import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.Vector;
 
 import javax.accessibility.AccessibleContext;
 import javax.swing.*;
@@ -39,9 +40,11 @@ import javax.swing.event.ListDataListener;
 import javax.swing.filechooser.FileSystemView;
 import javax.swing.filechooser.FileView;
 import javax.swing.plaf.ComponentUI;
+import javax.swing.plaf.basic.BasicDirectoryModel;
 
 import sun.swing.FilePane;
 
+import com.github.weisj.darklaf.components.loading.LoadingIndicator;
 import com.github.weisj.darklaf.components.tooltip.TooltipAwareButton;
 import com.github.weisj.darklaf.components.tooltip.TooltipAwareToggleButton;
 import com.github.weisj.darklaf.ui.button.DarkButtonUI;
@@ -51,8 +54,10 @@ import com.github.weisj.darklaf.util.AlignmentExt;
 public class DarkFileChooserUI extends DarkFileChooserUIBridge {
 
     public static final String KEY_VIEW_TYPE = "viewType";
-    private static final String MIME_TEXT = "text/";
-    private static final String MIME_IMAGE = "image/";
+    /*
+     * If set to true before the ui is installed directories are loaded using a StreamingDirectoryModel.
+     */
+    public static final String KEY_STREAMING_DIRECTORY = "JFileChooser.streamingDirectory";
 
     public DarkFileChooserUI(final JFileChooser b) {
         super(b);
@@ -62,11 +67,49 @@ public class DarkFileChooserUI extends DarkFileChooserUIBridge {
     protected BasicFileView fileView;
     protected Icon textFileIcon;
     protected Icon imageFileIcon;
+    protected LoadingIndicator loadingIndicator;
+    protected StreamingDirectoryModel streamingModel;
 
     public static ComponentUI createUI(final JComponent c) {
         return new DarkFileChooserUI((JFileChooser) c);
     }
 
+    @Override
+    protected void createModel() {
+        JFileChooser fc = getFileChooser();
+        if (streamingModel != null) streamingModel.invalidateFileCache();
+        if (fc != null && Boolean.TRUE.equals(fc.getClientProperty(KEY_STREAMING_DIRECTORY))) {
+            streamingModel = new StreamingDirectoryModel(fc);
+        } else {
+            streamingModel = null;
+            super.createModel();
+        }
+    }
+
+    @Override
+    public void uninstallUI(final JComponent c) {
+        super.uninstallUI(c);
+        if (streamingModel != null) {
+            // Cancels a directory which is still being loaded.
+            streamingModel.invalidateFileCache();
+            streamingModel = null;
+        }
+    }
+
+    @Override
+    public void rescanCurrentDirectory(final JFileChooser fc) {
+        if (fileView instanceof DarkFileView) {
+            ((DarkFileView) fileView).invalidateFileTypes(fc.getFileSystemView(), fc.getCurrentDirectory());
+        }
+        super.rescanCurrentDirectory(fc);
+    }
+
+    @Override
+    public BasicDirectoryModel getModel() {
+        if (streamingModel != null) return streamingModel;
+        return super.getModel();
+    }
+
     @Override
     protected void installIcons(final JFileChooser fc) {
         super.installIcons(fc);
@@ -270,10 +313,26 @@ public class DarkFileChooserUI extends DarkFileChooserUIBridge {
             box.add(makeHorizontalSpacer());
         }
         box.add(createViewButtonArea());
+        if (streamingModel != null) {
+            box.add(makeHorizontalSpacer());
+            box.add(createLoadingIndicator(streamingModel));
+        }
         box.add(Box.createGlue());
         return box;
     }
 
+    protected Component createLoadingIndicator(final StreamingDirectoryModel model) {
+        loadingIndicator = new LoadingIndicator();
+        loadingIndicator.setRunning(true);
+        loadingIndicator.setEnabled(model.isBusy());
+        model.addPropertyChangeListener(e -> {
+            if ("busy".equals(e.getPropertyName())) {
+                loadingIndicator.setEnabled(Boolean.TRUE.equals(e.getNewValue()));
+            }
+        });
+        return loadingIndicator;
+    }
+
     protected Component makeHorizontalSpacer() {
         return Box.createRigidArea(hstrut5);
     }
@@ -383,41 +442,77 @@ public class DarkFileChooserUI extends DarkFileChooserUIBridge {
         return new DarkFileView();
     }
 
+    protected void filesResolved(final Set<File> files) {
+        if (filePane instanceof DarkFilePane) {
+            ((DarkFilePane) filePane).repaintFiles(files);
+        }
+        if (directoryComboBox != null) directoryComboBox.repaint();
+    }
+
+    /*
+     * Classifying a file may require accessing the file system which can be slow e.g. for network drives.
+     * Directories are already known from the directory model. The type of other files is resolved in the background
+     * and the default file icon is used in the meantime.
+     */
     protected class DarkFileView extends BasicFileView {
 
-        public Icon getIcon(final File f) {
-            Icon icon = getCachedIcon(f);
-            if (icon != null) {
-                return icon;
-            }
-            icon = fileIcon;
-            if (f != null) {
-                FileSystemView fsv = getFileChooser().getFileSystemView();
-
-                if (fsv.isFloppyDrive(f)) {
-                    icon = floppyDriveIcon;
-                } else if (fsv.isDrive(f)) {
-                    icon = hardDriveIcon;
-                } else if (fsv.isComputerNode(f)) {
-                    icon = computerIcon;
-                } else if (f.isDirectory()) {
-                    icon = directoryIcon;
-                } else {
-                    try {
-                        String mimeType = Files.probeContentType(f.toPath());
-                        if (mimeType == null) mimeType = "";
-                        if (mimeType.startsWith(MIME_IMAGE)) {
-                            icon = imageFileIcon;
-                        } else if (mimeType.startsWith(MIME_TEXT)) {
-                            icon = textFileIcon;
-                        }
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
+        private final FileTypeResolver typeResolver = new FileTypeResolver(DarkFileChooserUI.this::filesResolved);
+        private Vector<File> directories;
+        private Set<File> directorySet;
+
+        @Override
+        public void clearIconCache() {
+            super.clearIconCache();
+            typeResolver.cancelPending();
+        }
+
+        protected void invalidateFileTypes(final FileSystemView fsv, final File directory) {
+            typeResolver.invalidate(fsv, directory);
+        }
+
+        protected boolean isKnownDirectory(final File f) {
+            if (streamingModel != null) {
+                if (streamingModel.isDirectory(f)) return true;
+            } else {
+                // The basic model caches the directories until its contents change.
+                Vector<File> dirs = getModel().getDirectories();
+                if (dirs != directories) {
+                    directories = dirs;
+                    directorySet = new HashSet<>(dirs);
                 }
+                if (directorySet.contains(f)) return true;
+            }
+            // The directory combo box shows the ancestors of the current directory.
+            File dir = getFileChooser().getCurrentDirectory();
+            while (dir != null) {
+                if (dir.equals(f)) return true;
+                dir = dir.getParentFile();
+            }
+            return false;
+        }
+
+        @Override
+        public Icon getIcon(final File f) {
+            if (f == null) return fileIcon;
+            FileSystemView fsv = getFileChooser().getFileSystemView();
+            FileTypeResolver.FileType type = typeResolver.getFileType(f, fsv, isKnownDirectory(f));
+            if (type == null) return fileIcon;
+            switch (type) {
+                case FLOPPY_DRIVE :
+                    return floppyDriveIcon;
+                case HARD_DRIVE :
+                    return hardDriveIcon;
+                case COMPUTER :
+                    return computerIcon;
+                case DIRECTORY :
+                    return directoryIcon;
+                case IMAGE :
+                    return imageFileIcon;
+                case TEXT :
+                    return textFileIcon;
+                default :
+                    return fileIcon;
             }
-            cacheIcon(f, icon);
-            return icon;
         }
     }
 }
@@ -30,6 +30,7 @@ import java.awt.event.ComponentEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.io.File;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import javax.accessibility.AccessibleContext;
@@ -37,6 +38,7 @@ import javax.swing.*;
 import javax.swing.event.ListDataEvent;
 import javax.swing.event.ListDataListener;
 import javax.swing.event.TableModelEvent;
+import javax.swing.plaf.basic.BasicDirectoryModel;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.text.Position;
 
@@ -469,6 +471,40 @@ public class DarkFilePane extends DarkFilePaneUIBridge {
         }
     }
 
+    /**
+     * Repaints the visible rows which display one of the given files.
+     *
+     * @param files the files to repaint.
+     */
+    public void repaintFiles(final Set<File> files) {
+        if (files.isEmpty()) return;
+        if (list != null && list.isShowing()) {
+            int first = list.getFirstVisibleIndex();
+            int last = list.getLastVisibleIndex();
+            ListModel<?> model = list.getModel();
+            for (int i = Math.max(0, first); i <= last && i < model.getSize(); i++) {
+                if (files.contains(model.getElementAt(i))) {
+                    Rectangle r = list.getCellBounds(i, i);
+                    if (r != null) list.repaint(r);
+                }
+            }
+        }
+        if (detailsTable != null && detailsTable.isShowing()) {
+            Rectangle visible = detailsTable.getVisibleRect();
+            int first = detailsTable.rowAtPoint(visible.getLocation());
+            int last = detailsTable.rowAtPoint(new Point(visible.x, visible.y + visible.height - 1));
+            if (last < 0) last = detailsTable.getRowCount() - 1;
+            BasicDirectoryModel model = getModel();
+            for (int row = Math.max(0, first); row <= last; row++) {
+                int index = detailsTable.convertRowIndexToModel(row);
+                if (index >= 0 && index < model.getSize() && files.contains(model.getElementAt(index))) {
+                    Rectangle r = detailsTable.getCellRect(row, 0, true);
+                    detailsTable.repaint(0, r.y, detailsTable.getWidth(), r.height);
+                }
+            }
+        }
+    }
+
     public class DarkFileRenderer extends DarkListCellRendererDelegate {
 
         @Override
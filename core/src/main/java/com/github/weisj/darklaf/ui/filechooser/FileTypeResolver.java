@@ -0,0 +1,239 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.ui.filechooser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileSystemView;
+
+import com.github.weisj.darklaf.util.LazyValue;
+
+/**
+ * Classifies files for the icons of the file chooser. Directories are reported by the caller, which already knows them
+ * from the directory model. Queries of the {@link FileSystemView} are answered on the event dispatch thread, while the
+ * contents of files are probed in the background. Results are stored in a bounded cache for
+ * each file system view, which is shared between all file choosers, and are published to the event dispatch thread in
+ * batches.
+ *
+ * @author Jannis Weis
+ */
+final class FileTypeResolver {
+
+    enum FileType {
+        FLOPPY_DRIVE,
+        HARD_DRIVE,
+        COMPUTER,
+        DIRECTORY,
+        IMAGE,
+        TEXT,
+        FILE
+    }
+
+    private static final String MIME_TEXT = "text/";
+    private static final String MIME_IMAGE = "image/";
+    private static final int CACHE_SIZE = 4096;
+    private static final int THREAD_COUNT = 2;
+    private static final Map<String, FileType> EXTENSION_TYPES = createExtensionTypes();
+    private static final Map<FileSystemView, Map<File, FileType>> typeCaches = new WeakHashMap<>();
+    private static final LazyValue<ExecutorService> executor = new LazyValue<>(FileTypeResolver::createExecutor);
+
+    private final Consumer<Set<File>> resolvedCallback;
+    private final Set<File> pending = new HashSet<>();
+    private final Set<File> resolved = new HashSet<>();
+    private volatile int generation;
+    private boolean flushScheduled;
+
+    /**
+     * Creates a new resolver.
+     *
+     * @param resolvedCallback callback which is notified on the event dispatch thread about files whose type has been
+     *                         resolved.
+     */
+    FileTypeResolver(final Consumer<Set<File>> resolvedCallback) {
+        this.resolvedCallback = resolvedCallback;
+    }
+
+    /**
+     * Returns the type of the file if it is already known. Otherwise the file is classified in the background and
+     * null is returned. Has to be called from the event dispatch thread.
+     *
+     * @param  file      the file.
+     * @param  fsv       the file system view.
+     * @param  directory whether the file is known to be a directory.
+     * @return           the file type or null if it isn't known yet.
+     */
+    FileType getFileType(final File file, final FileSystemView fsv, final boolean directory) {
+        if (directory) {
+            FileType type = classifyNode(file, fsv);
+            return type != null ? type : FileType.DIRECTORY;
+        }
+        Map<File, FileType> typeCache = getTypeCache(fsv);
+        FileType type = typeCache.get(file);
+        if (type != null) return type;
+        // FileSystemView isn't thread safe, hence it is only queried on the event dispatch thread.
+        type = classifyNode(file, fsv);
+        if (type != null) {
+            typeCache.put(file, type);
+            return type;
+        }
+        if (pending.add(file)) {
+            int gen = generation;
+            executor.get().execute(() -> resolve(file, typeCache, gen));
+        }
+        return null;
+    }
+
+    /**
+     * Discards the cached classifications of the files contained in the given directory and all classifications which
+     * haven't been started yet. Classifications of other directories are kept, as the cache is shared with other
+     * file choosers.
+     *
+     * @param fsv       the file system view.
+     * @param directory the directory.
+     */
+    void invalidate(final FileSystemView fsv, final File directory) {
+        cancelPending();
+        Map<File, FileType> typeCache;
+        synchronized (typeCaches) {
+            typeCache = typeCaches.get(fsv);
+        }
+        if (typeCache == null || directory == null) return;
+        typeCache.keySet().removeIf(f -> directory.equals(f.getParentFile()));
+    }
+
+    /**
+     * Discards all classifications which haven't been started yet.
+     */
+    void cancelPending() {
+        generation++;
+        pending.clear();
+    }
+
+    private void resolve(final File file, final Map<File, FileType> typeCache, final int gen) {
+        if (gen != generation) return;
+        FileType type = typeCache.get(file);
+        if (type == null) {
+            type = classify(file);
+            typeCache.put(file, type);
+        }
+        boolean scheduleFlush;
+        synchronized (resolved) {
+            resolved.add(file);
+            scheduleFlush = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (scheduleFlush) SwingUtilities.invokeLater(this::flush);
+    }
+
+    private void flush() {
+        Set<File> files;
+        synchronized (resolved) {
+            files = new HashSet<>(resolved);
+            resolved.clear();
+            flushScheduled = false;
+        }
+        pending.removeAll(files);
+        resolvedCallback.accept(files);
+    }
+
+    private static Map<File, FileType> getTypeCache(final FileSystemView fsv) {
+        synchronized (typeCaches) {
+            return typeCaches.computeIfAbsent(fsv, v -> createTypeCache());
+        }
+    }
+
+    private static Map<File, FileType> createTypeCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<File, FileType>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<File, FileType> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+    }
+
+    private static FileType classifyNode(final File f, final FileSystemView fsv) {
+        if (fsv.isFloppyDrive(f)) return FileType.FLOPPY_DRIVE;
+        if (fsv.isDrive(f)) return FileType.HARD_DRIVE;
+        if (fsv.isComputerNode(f)) return FileType.COMPUTER;
+        return null;
+    }
+
+    private static FileType classify(final File f) {
+        FileType type = EXTENSION_TYPES.get(getExtension(f));
+        if (type != null) return type;
+        try {
+            String mimeType = Files.probeContentType(f.toPath());
+            if (mimeType == null) mimeType = "";
+            if (mimeType.startsWith(MIME_IMAGE)) {
+                return FileType.IMAGE;
+            } else if (mimeType.startsWith(MIME_TEXT)) {
+                return FileType.TEXT;
+            }
+        } catch (IOException | RuntimeException ignored) {
+            /* Unreadable files simply get the default icon. */
+        }
+        return FileType.FILE;
+    }
+
+    private static String getExtension(final File f) {
+        String name = f.getName();
+        int dot = name.lastIndexOf('.');
+        if (dot < 0 || dot == name.length() - 1) return "";
+        return name.substring(dot + 1).toLowerCase(Locale.ENGLISH);
+    }
+
+    private static Map<String, FileType> createExtensionTypes() {
+        Map<String, FileType> types = new HashMap<>();
+        for (String ext : new String[]{"png", "jpg", "jpeg", "gif", "bmp", "svg", "tif", "tiff", "ico", "webp"}) {
+            types.put(ext, FileType.IMAGE);
+        }
+        for (String ext : new String[]{"txt", "md", "csv", "xml", "html", "htm", "css", "java", "c", "h", "cpp",
+                                       "py"}) {
+            types.put(ext, FileType.TEXT);
+        }
+        return types;
+    }
+
+    private static ExecutorService createExecutor() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(THREAD_COUNT, THREAD_COUNT, 5, TimeUnit.SECONDS,
+                                                         new LinkedBlockingQueue<>(), r -> {
+                                                             Thread thread = new Thread(r, "File Type Resolver");
+                                                             thread.setDaemon(true);
+                                                             thread.setPriority(Thread.MIN_PRIORITY);
+                                                             return thread;
+                                                         });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.ui.filechooser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.text.Collator;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileSystemView;
+import javax.swing.plaf.basic.BasicDirectoryModel;
+
+/**
+ * Directory model which enumerates the contents of a directory in chunks. Each chunk is sorted and merged into the
+ * already loaded entries, which are published to the event dispatch thread progressively. Loading is cancelled as
+ * soon as the directory changes.
+ *
+ * @author Jannis Weis
+ */
+public class StreamingDirectoryModel extends BasicDirectoryModel {
+
+    private static final int INITIAL_CHUNK_SIZE = 256;
+    private static final int MAX_CHUNK_SIZE = 32768;
+
+    private final AtomicInteger loadId = new AtomicInteger();
+    private final JFileChooser fileChooser;
+    private List<File> fileCache = Collections.emptyList();
+    private int directoryCount;
+    private Set<File> directorySet = Collections.emptySet();
+    private boolean busy;
+    private final boolean initialized;
+
+    public StreamingDirectoryModel(final JFileChooser fileChooser) {
+        super(fileChooser);
+        this.fileChooser = fileChooser;
+        initialized = true;
+        validateFileCache();
+    }
+
+    @Override
+    public void validateFileCache() {
+        // Called by the super constructor before this instance is initialized.
+        if (!initialized) return;
+        File currentDirectory = fileChooser.getCurrentDirectory();
+        if (currentDirectory == null) return;
+        int id = loadId.incrementAndGet();
+        setBusy(true);
+        Thread loadThread = new Thread(() -> loadDirectory(currentDirectory, id), "Directory Loader");
+        loadThread.setDaemon(true);
+        loadThread.start();
+    }
+
+    @Override
+    public void invalidateFileCache() {
+        if (!initialized) return;
+        loadId.incrementAndGet();
+        setBusy(false);
+    }
+
+    /**
+     * Returns whether the contents of the current directory are still being loaded.
+     *
+     * @return true if loading.
+     */
+    public boolean isBusy() {
+        return busy;
+    }
+
+    @Override
+    public Vector<File> getDirectories() {
+        return new Vector<>(fileCache.subList(0, directoryCount));
+    }
+
+    /**
+     * Returns whether the file is listed as a directory of the current directory.
+     *
+     * @param  file the file.
+     * @return      true if the file is a loaded directory.
+     */
+    public boolean isDirectory(final File file) {
+        return directorySet.contains(file);
+    }
+
+    @Override
+    public Vector<File> getFiles() {
+        return new Vector<>(fileCache.subList(directoryCount, fileCache.size()));
+    }
+
+    @Override
+    public int getSize() {
+        return fileCache.size();
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return fileCache.contains(o);
+    }
+
+    @Override
+    public int indexOf(final Object o) {
+        return fileCache.indexOf(o);
+    }
+
+    @Override
+    public Object getElementAt(final int index) {
+        return fileCache.get(index);
+    }
+
+    private void setBusy(final boolean busy) {
+        if (this.busy == busy) return;
+        this.busy = busy;
+        firePropertyChange("busy", !busy, busy);
+    }
+
+    private boolean isCancelled(final int id) {
+        return id != loadId.get() || Thread.currentThread().isInterrupted();
+    }
+
+    private void loadDirectory(final File directory, final int id) {
+        FileSystemView fsv = fileChooser.getFileSystemView();
+        boolean useFileHiding = fileChooser.isFileHidingEnabled();
+        Comparator<File> comparator = createComparator();
+        List<File> directories = new ArrayList<>();
+        List<File> files = new ArrayList<>();
+        List<File> chunk = new ArrayList<>(INITIAL_CHUNK_SIZE);
+        int chunkSize = INITIAL_CHUNK_SIZE;
+        boolean first = true;
+
+        Iterator<File> iterator;
+        DirectoryStream<Path> stream = null;
+        try {
+            Path path = fsv.isFileSystem(directory) ? directory.toPath() : null;
+            if (path != null && Files.isDirectory(path)) {
+                stream = Files.newDirectoryStream(path);
+                Iterator<Path> pathIterator = stream.iterator();
+                iterator = new Iterator<File>() {
+                    @Override
+                    public boolean hasNext() {
+                        return pathIterator.hasNext();
+                    }
+
+                    @Override
+                    public File next() {
+                        return fsv.createFileObject(directory, pathIterator.next().getFileName().toString());
+                    }
+                };
+            } else {
+                // Virtual folders can only be listed through the FileSystemView.
+                iterator = Arrays.asList(fsv.getFiles(directory, useFileHiding)).iterator();
+            }
+            while (iterator.hasNext()) {
+                if (isCancelled(id)) return;
+                File file = iterator.next();
+                if (useFileHiding && fsv.isHiddenFile(file)) continue;
+                if (!fileChooser.accept(file)) continue;
+                chunk.add(file);
+                if (chunk.size() >= chunkSize) {
+                    mergeChunk(chunk, directories, files, comparator);
+                    publish(directories, files, id, first, false);
+                    first = false;
+                    chunk.clear();
+                    chunkSize = Math.min(2 * chunkSize, MAX_CHUNK_SIZE);
+                }
+            }
+        } catch (IOException | InvalidPathException | SecurityException | DirectoryIteratorException e) {
+            // Show whatever could be read so far.
+        } finally {
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+        if (isCancelled(id)) return;
+        mergeChunk(chunk, directories, files, comparator);
+        publish(directories, files, id, first, true);
+    }
+
+    private void mergeChunk(final List<File> chunk, final List<File> directories, final List<File> files,
+                            final Comparator<File> comparator) {
+        List<File> newDirectories = new ArrayList<>();
+        List<File> newFiles = new ArrayList<>();
+        for (File file : chunk) {
+            if (fileChooser.isTraversable(file)) {
+                newDirectories.add(file);
+            } else if (fileChooser.isFileSelectionEnabled()) {
+                newFiles.add(file);
+            }
+        }
+        merge(directories, newDirectories, comparator);
+        merge(files, newFiles, comparator);
+    }
+
+    private static void merge(final List<File> target, final List<File> sortedChunk, final Comparator<File> comparator) {
+        if (sortedChunk.isEmpty()) return;
+        sortedChunk.sort(comparator);
+        List<File> merged = new ArrayList<>(target.size() + sortedChunk.size());
+        int i = 0;
+        int j = 0;
+        while (i < target.size() && j < sortedChunk.size()) {
+            if (comparator.compare(target.get(i), sortedChunk.get(j)) <= 0) {
+                merged.add(target.get(i++));
+            } else {
+                merged.add(sortedChunk.get(j++));
+            }
+        }
+        merged.addAll(target.subList(i, target.size()));
+        merged.addAll(sortedChunk.subList(j, sortedChunk.size()));
+        target.clear();
+        target.addAll(merged);
+    }
+
+    private void publish(final List<File> directories, final List<File> files, final int id,
+                         final boolean first, final boolean done) {
+        List<File> contents = new ArrayList<>(directories.size() + files.size());
+        contents.addAll(directories);
+        contents.addAll(files);
+        int dirCount = directories.size();
+        Set<File> dirSet = new HashSet<>(directories);
+        SwingUtilities.invokeLater(() -> {
+            if (id != loadId.get()) return;
+            List<File> oldContents = fileCache;
+            if (first && !oldContents.isEmpty()) {
+                fileCache = Collections.emptyList();
+                directoryCount = 0;
+                directorySet = Collections.emptySet();
+                fireIntervalRemoved(this, 0, oldContents.size() - 1);
+            }
+            fileCache = contents;
+            directoryCount = dirCount;
+            directorySet = dirSet;
+            if (first) {
+                if (!contents.isEmpty()) fireIntervalAdded(this, 0, contents.size() - 1);
+            } else {
+                fireContentsChanged(this, 0, Math.max(0, contents.size() - 1));
+            }
+            if (done) setBusy(false);
+        });
+    }
+
+    private static Comparator<File> createComparator() {
+        Collator collator = Collator.getInstance();
+        return (a, b) -> {
+            int cmp = collator.compare(a.getName(), b.getName());
+            return cmp != 0 ? cmp : a.getName().compareTo(b.getName());
+        };
+    }
+}
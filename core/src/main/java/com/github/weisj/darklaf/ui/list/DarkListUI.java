@@ -29,6 +29,7 @@ import java.awt.event.MouseEvent;
 import java.beans.PropertyChangeEvent;
 
 import javax.swing.*;
+import javax.swing.event.ListDataEvent;
 import javax.swing.plaf.ComponentUI;
 
 import com.github.weisj.darklaf.ui.cell.DarkCellRendererPane;
@@ -50,8 +51,17 @@ public class DarkListUI extends DarkListUIBridge {
     public static final String RENDER_TYPE_CHECKBOX = "checkBox";
     public static final String RENDER_TYPE_RADIOBUTTON = "radioButton";
     public static final String KEY_IS_LIST_EDITOR = "JComponent.listCellEditor";
+    public static final String KEY_COALESCE_UPDATES = KEY_PREFIX + "coalesceUpdates";
+    public static final String KEY_UNIFORM_CELL_SIZE = KEY_PREFIX + "uniformCellSize";
 
     protected DarkListCellRendererDelegate rendererDelegate;
+    protected Color alternateRowBackground;
+    protected boolean alternateRowColor;
+    protected boolean shrinkWrap;
+    protected int coalesceDelay;
+    protected boolean uniformCellSize;
+    protected Timer updateTimer;
+    protected int pendingUpdateIndex = -1;
 
     public static ComponentUI createUI(final JComponent list) {
         return new DarkListUI();
@@ -70,6 +80,92 @@ public class DarkListUI extends DarkListUIBridge {
         super.installDefaults();
         rendererDelegate = new DarkListCellRendererDelegate();
         PropertyUtil.installBooleanProperty(list, KEY_ALTERNATE_ROW_COLOR, "List.alternateRowColor");
+        alternateRowBackground = UIManager.getColor("List.alternateRowBackground");
+        updateCellProperties();
+    }
+
+    /*
+     * The cell properties are read for every painted cell. They are cached and updated through the property
+     * change listener.
+     */
+    protected void updateCellProperties() {
+        alternateRowColor = PropertyUtil.getBooleanProperty(list, KEY_ALTERNATE_ROW_COLOR);
+        shrinkWrap = PropertyUtil.getBooleanProperty(list, KEY_SHRINK_WRAP);
+        coalesceDelay = Math.max(0, PropertyUtil.getInteger(list, KEY_COALESCE_UPDATES, 0));
+        uniformCellSize = PropertyUtil.getBooleanProperty(list, KEY_UNIFORM_CELL_SIZE);
+    }
+
+    @Override
+    protected boolean isUniformCellSize() {
+        return uniformCellSize;
+    }
+
+    @Override
+    protected void uninstallListeners() {
+        super.uninstallListeners();
+        if (updateTimer != null) {
+            updateTimer.stop();
+            updateTimer = null;
+        }
+        pendingUpdateIndex = -1;
+    }
+
+    /**
+     * Returns whether changes of the list model are batched. This is the case if {@link #KEY_COALESCE_UPDATES} is set
+     * to a positive delay in milliseconds.
+     *
+     * @return true if model changes are coalesced.
+     */
+    protected boolean isCoalescingUpdates() {
+        return coalesceDelay > 0;
+    }
+
+    /*
+     * Defer the revalidation and repaint caused by a change of the list model. All changes arriving within the
+     * coalesce delay are handled at once. The layout state is marked as outdated immediately, so geometry queries
+     * like getCellBounds or locationToIndex reflect the current model in the meantime.
+     */
+    protected void scheduleUpdate(final int index) {
+        updateLayoutStateNeeded |= modelChanged;
+        int firstIndex = Math.max(0, index);
+        pendingUpdateIndex = pendingUpdateIndex < 0 ? firstIndex : Math.min(pendingUpdateIndex, firstIndex);
+        if (updateTimer == null) {
+            updateTimer = new Timer(coalesceDelay, e -> flushUpdates());
+            updateTimer.setRepeats(false);
+        }
+        if (!updateTimer.isRunning()) {
+            updateTimer.setInitialDelay(coalesceDelay);
+            updateTimer.start();
+        }
+    }
+
+    /**
+     * Revalidates the list for all pending changes of the list model. Only the visible part of the list starting at
+     * the first changed cell is repainted.
+     */
+    protected void flushUpdates() {
+        if (updateTimer != null) updateTimer.stop();
+        if (pendingUpdateIndex < 0 || list == null) return;
+        int index = pendingUpdateIndex;
+        pendingUpdateIndex = -1;
+        list.revalidate();
+        Rectangle visible = list.getVisibleRect();
+        Rectangle cellBounds = layoutOrientation == JList.VERTICAL && index < list.getModel().getSize()
+                ? getCellBounds(list, index)
+                : null;
+        if (cellBounds == null) {
+            list.repaint(visible);
+            return;
+        }
+        int y = Math.max(visible.y, cellBounds.y);
+        int maxY = visible.y + visible.height;
+        if (y < maxY) {
+            list.repaint(visible.x, y, visible.width, maxY - y);
+        }
+    }
+
+    public boolean isAlternateRowColor() {
+        return alternateRowColor;
     }
 
     protected CellRendererPane createCellRendererPane() {
@@ -175,10 +271,7 @@ public class DarkListUI extends DarkListUIBridge {
         int ch = rowBounds.height;
 
         if (empty || bgWidth > 0) {
-            boolean alternativeRow = PropertyUtil.getBooleanProperty(list, KEY_ALTERNATE_ROW_COLOR);
-            Color alternativeRowColor = UIManager.getColor("List.alternateRowBackground");
-            Color normalColor = list.getBackground();
-            Color background = alternativeRow && row % 2 == 1 ? alternativeRowColor : normalColor;
+            Color background = alternateRowColor && row % 2 == 1 ? alternateRowBackground : list.getBackground();
             Color c = g.getColor();
             g.setColor(background);
             g.fillRect(cx, cy, bgWidth > 0 ? bgWidth : cw, ch);
@@ -187,7 +280,7 @@ public class DarkListUI extends DarkListUIBridge {
         if (!empty) {
             Component rendererComponent = cellRenderer.getListCellRendererComponent(list, value, index, isSelected,
                                                                                     cellHasFocus);
-            if (PropertyUtil.getBooleanProperty(list, KEY_SHRINK_WRAP)) {
+            if (shrinkWrap) {
                 // Shrink renderer to preferred size. This is mostly used on Windows
                 // where selection is only shown around the file name, instead of
                 // across the whole list cell.
@@ -207,9 +300,55 @@ public class DarkListUI extends DarkListUIBridge {
         public void propertyChange(final PropertyChangeEvent e) {
             super.propertyChange(e);
             String key = e.getPropertyName();
-            if (KEY_ALTERNATE_ROW_COLOR.equals(key)) {
+            if (KEY_ALTERNATE_ROW_COLOR.equals(key) || KEY_SHRINK_WRAP.equals(key)) {
+                updateCellProperties();
                 list.repaint();
+            } else if (KEY_UNIFORM_CELL_SIZE.equals(key)) {
+                updateCellProperties();
+                updateLayoutStateNeeded |= modelChanged;
+                redrawList();
+            } else if (KEY_COALESCE_UPDATES.equals(key)) {
+                updateCellProperties();
+                if (!isCoalescingUpdates()) flushUpdates();
+            }
+        }
+
+        @Override
+        public void intervalAdded(final ListDataEvent e) {
+            if (!isCoalescingUpdates()) {
+                super.intervalAdded(e);
+                return;
+            }
+            int minIndex = Math.min(e.getIndex0(), e.getIndex1());
+            int maxIndex = Math.max(e.getIndex0(), e.getIndex1());
+            // The selection has to be in sync with the model immediately.
+            ListSelectionModel sm = list.getSelectionModel();
+            if (sm != null) {
+                sm.insertIndexInterval(minIndex, maxIndex - minIndex + 1, true);
+            }
+            scheduleUpdate(minIndex);
+        }
+
+        @Override
+        public void intervalRemoved(final ListDataEvent e) {
+            if (!isCoalescingUpdates()) {
+                super.intervalRemoved(e);
+                return;
+            }
+            ListSelectionModel sm = list.getSelectionModel();
+            if (sm != null) {
+                sm.removeIndexInterval(e.getIndex0(), e.getIndex1());
+            }
+            scheduleUpdate(Math.min(e.getIndex0(), e.getIndex1()));
+        }
+
+        @Override
+        public void contentsChanged(final ListDataEvent e) {
+            if (!isCoalescingUpdates()) {
+                super.contentsChanged(e);
+                return;
             }
+            scheduleUpdate(Math.min(e.getIndex0(), e.getIndex1()));
         }
 
         @Override
@@ -178,6 +178,10 @@ public abstract class DarkListUIBridge extends BasicListUI {
      * The array of cells' height
      */
     protected int[] cellHeights = null;
+    /**
+     * The prefix sums of the cells' height. The entry at index i is the offset of the cell i from the top inset.
+     */
+    protected int[] cellOffsets = null;
     /**
      * The height of cell.
      */
@@ -748,6 +752,7 @@ public abstract class DarkListUIBridge extends BasicListUI {
 
         cellWidth = cellHeight = -1;
         cellHeights = null;
+        cellOffsets = null;
 
         listWidth = listHeight = -1;
 
@@ -891,12 +896,16 @@ public abstract class DarkListUIBridge extends BasicListUI {
          */
         int fixedCellHeight = list.getFixedCellHeight();
         int fixedCellWidth = list.getFixedCellWidth();
+        boolean uniformCellSize = isUniformCellSize();
 
         cellWidth = fixedCellWidth;
 
         if (fixedCellHeight != -1) {
             cellHeight = fixedCellHeight;
             cellHeights = null;
+        } else if (uniformCellSize) {
+            cellHeight = 0;
+            cellHeights = null;
         } else {
             cellHeight = -1;
             cellHeights = new int[list.getModel().getSize()];
@@ -916,7 +925,9 @@ public abstract class DarkListUIBridge extends BasicListUI {
             ListCellRenderer<Object> renderer = list.getCellRenderer();
 
             if (renderer != null) {
-                for (int index = 0; index < dataModelSize; index++) {
+                // If all cells have the same size only the first one has to be measured.
+                int measuredCount = uniformCellSize ? Math.min(1, dataModelSize) : dataModelSize;
+                for (int index = 0; index < measuredCount; index++) {
                     Object value = dataModel.getElementAt(index);
                     Component c = renderer.getListCellRendererComponent(list, value, index, false, false);
                     rendererPane.add(c);
@@ -925,18 +936,26 @@ public abstract class DarkListUIBridge extends BasicListUI {
                         cellWidth = Math.max(cellSize.width, cellWidth);
                     }
                     if (fixedCellHeight == -1) {
-                        cellHeights[index] = cellSize.height;
+                        if (uniformCellSize) {
+                            cellHeight = cellSize.height;
+                        } else {
+                            cellHeights[index] = cellSize.height;
+                        }
                     }
                 }
             } else {
                 if (cellWidth == -1) {
                     cellWidth = 0;
                 }
-                if (cellHeights == null) {
-                    cellHeights = new int[dataModelSize];
-                }
-                for (int index = 0; index < dataModelSize; index++) {
-                    cellHeights[index] = 0;
+                if (uniformCellSize) {
+                    if (fixedCellHeight == -1) cellHeight = 0;
+                } else {
+                    if (cellHeights == null) {
+                        cellHeights = new int[dataModelSize];
+                    }
+                    for (int index = 0; index < dataModelSize; index++) {
+                        cellHeights[index] = 0;
+                    }
                 }
             }
         }
@@ -945,6 +964,46 @@ public abstract class DarkListUIBridge extends BasicListUI {
         if (layoutOrientation != JList.VERTICAL) {
             updateHorizontalLayoutState(fixedCellWidth, fixedCellHeight);
         }
+        updateCellOffsets();
+    }
+
+    /**
+     * Returns whether all cells are assumed to have the size of the first cell. In this case the renderer is only
+     * asked for the size of a single cell when the layout is updated.
+     *
+     * @return true if all cells have the same size.
+     */
+    protected boolean isUniformCellSize() {
+        return false;
+    }
+
+    /**
+     * Recompute the prefix sums of the cells' height.
+     */
+    protected void updateCellOffsets() {
+        if (cellHeights == null) {
+            cellOffsets = null;
+            return;
+        }
+        int[] offsets = new int[cellHeights.length + 1];
+        for (int i = 0; i < cellHeights.length; i++) {
+            offsets[i + 1] = offsets[i] + cellHeights[i];
+        }
+        cellOffsets = offsets;
+    }
+
+    /**
+     * Returns the offset of the cell in the given row from the top inset. Only valid if the cells have variable
+     * height.
+     *
+     * @param  row the row.
+     * @return     the offset of the row.
+     */
+    protected int getCellOffset(final int row) {
+        if (cellOffsets == null || cellOffsets.length != cellHeights.length + 1) {
+            updateCellOffsets();
+        }
+        return cellOffsets[row];
     }
 
     /**
@@ -1094,21 +1153,25 @@ public abstract class DarkListUIBridge extends BasicListUI {
         } else if (size > cellHeights.length) {
             return -1;
         } else {
-            int y = insets.top;
-            int row = 0;
-
-            if (closest && y0 < y) {
-                return 0;
-            }
-            int i;
-            for (i = 0; i < size; i++) {
-                if ((y0 >= y) && (y0 < y + cellHeights[i])) {
-                    return row;
+            int y = y0 - insets.top;
+            if (y < 0) {
+                return closest ? 0 : size - 1;
+            }
+            if (y >= getCellOffset(size)) {
+                return size - 1;
+            }
+            // Binary search for the first row whose bottom lies below the location.
+            int low = 0;
+            int high = size - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (getCellOffset(mid + 1) > y) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
                 }
-                y += cellHeights[i];
-                row += 1;
             }
-            return i - 1;
+            return low;
         }
     }
 
@@ -1191,6 +1254,9 @@ public abstract class DarkListUIBridge extends BasicListUI {
 
         if (fixedCellHeight != -1) {
             height = fixedCellHeight;
+        } else if (cellHeights == null) {
+            // All cells have the same height.
+            height = cellHeight;
         } else {
             // Determine the max of the renderer heights.
             int maxHeight = 0;
@@ -1551,9 +1617,7 @@ public abstract class DarkListUIBridge extends BasicListUI {
                 } else if (row >= cellHeights.length) {
                     y = 0;
                 } else {
-                    for (int i = 0; i < row; i++) {
-                        y += cellHeights[i];
-                    }
+                    y += getCellOffset(row);
                 }
                 w = list.getWidth() - (insets.left + insets.right);
                 h = getRowHeight(index);
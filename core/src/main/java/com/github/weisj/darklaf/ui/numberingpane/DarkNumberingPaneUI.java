@@ -31,7 +31,6 @@ import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -64,6 +63,7 @@ public class DarkNumberingPaneUI extends ComponentUI {
     protected JViewport viewport;
     protected int maxIconWidth = 0;
     protected Color oldBackground;
+    protected char[] lineNumberBuffer = new char[0];
 
     public static ComponentUI createUI(final JComponent c) {
         return new DarkNumberingPaneUI();
@@ -172,7 +172,9 @@ public class DarkNumberingPaneUI extends ComponentUI {
         int lines = textComponent.getDocument().getDefaultRootElement().getElementCount();
         int pad = 2 * OUTER_PAD;
         if (maxIconWidth > 0) pad += PAD;
-        textWidth = numberingPane.getFontMetrics(numberingPane.getFont()).stringWidth(String.valueOf(lines));
+        int digits = getDigitCount(lines);
+        textWidth = numberingPane.getFontMetrics(numberingPane.getFont())
+                                 .charsWidth(formatLineNumber(lines, digits), 0, digits);
         return new Dimension(maxIconWidth + pad + textWidth, viewport.getView().getHeight());
     }
 
@@ -192,19 +194,63 @@ public class DarkNumberingPaneUI extends ComponentUI {
                                  final Element root, final int descent) {
         GraphicsContext config = GraphicsUtil.setupAntialiasing(g);
         g.setColor(numberingPane.getForeground());
-        int digits = String.valueOf(root.getElementCount()).length();
+        int digits = getDigitCount(root.getElementCount());
+        /*
+         * Plain views lay out all lines with the same height. In this case only the first line has to be
+         * converted to view coordinates.
+         */
+        View rootView = textComponent.getUI().getRootView(textComponent);
+        boolean uniformLineHeight = rootView.getViewCount() > 0 && rootView.getView(0) instanceof PlainView;
+        Rectangle firstLine = null;
         for (int i = startLine; i <= endLine; i++) {
-            int off = root.getElement(i).getStartOffset();
             try {
-                Rectangle lineRect = textComponent.modelToView(off);
-                g.setColor(lineRect.y == yCur ? foregroundHighlight : numberingPane.getForeground());
-                g.drawString(String.format("%1$" + digits + "d", i), OUTER_PAD,
-                             lineRect.y + lineRect.height - descent);
+                int y;
+                int height;
+                if (uniformLineHeight && firstLine != null) {
+                    height = firstLine.height;
+                    y = firstLine.y + (i - startLine) * height;
+                } else {
+                    Rectangle lineRect = textComponent.modelToView(root.getElement(i).getStartOffset());
+                    if (firstLine == null) firstLine = lineRect;
+                    y = lineRect.y;
+                    height = lineRect.height;
+                }
+                g.setColor(y == yCur ? foregroundHighlight : numberingPane.getForeground());
+                g.drawChars(formatLineNumber(i, digits), 0, digits, OUTER_PAD, y + height - descent);
             } catch (BadLocationException ignored) {}
         }
         config.restore();
     }
 
+    protected static int getDigitCount(final int value) {
+        int digits = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    /*
+     * Formats the number right aligned to the given number of digits. The returned buffer is reused by subsequent
+     * calls.
+     */
+    protected char[] formatLineNumber(final int number, final int digits) {
+        if (lineNumberBuffer.length < digits) {
+            lineNumberBuffer = new char[digits];
+        }
+        char[] buffer = lineNumberBuffer;
+        int v = number;
+        int i = digits - 1;
+        do {
+            buffer[i--] = (char) ('0' + v % 10);
+            v /= 10;
+        } while (v > 0 && i >= 0);
+        while (i >= 0) {
+            buffer[i--] = ' ';
+        }
+        return buffer;
+    }
+
     protected void paintIcons(final Graphics g, final int startLine, final int endLine, final Element root) {
         List<Map.Entry<Position, Icon>> icons = numberingPane.getIconsInRange(root.getElement(startLine)
                                                                                   .getStartOffset(),
@@ -222,12 +268,7 @@ public class DarkNumberingPaneUI extends ComponentUI {
     }
 
     protected int calculateMaxIconWidth() {
-        Collection<Icon> icons = numberingPane.getIcons();
-        int max = numberingPane.getMinimumIconWidth();
-        for (Icon icon : icons) {
-            max = Math.max(icon.getIconWidth(), max);
-        }
-        return max;
+        return Math.max(numberingPane.getMinimumIconWidth(), numberingPane.getMaxIconWidth());
     }
 
     protected void updateViewport(final Component comp) {
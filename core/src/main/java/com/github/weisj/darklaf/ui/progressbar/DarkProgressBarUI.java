@@ -28,8 +28,12 @@ import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
@@ -55,6 +59,15 @@ public class DarkProgressBarUI extends BasicProgressBarUI implements PropertyCha
     private static final int REPAINT_INTERVAL_DEFAULT = 50;
     private static final int CYCLE_TIME_SIMPLIFIED = 1000;
     private static final int REPAINT_INTERVAL_SIMPLIFIED = 500;
+    private static final int STRIPE_STEP = 6;
+    private static final int MAX_CACHED_STRIPES = 16;
+    private static final Map<StripeKey, BufferedImage> stripeCache =
+            new LinkedHashMap<StripeKey, BufferedImage>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<StripeKey, BufferedImage> eldest) {
+                    return size() > MAX_CACHED_STRIPES;
+                }
+            };
     private Color trackColor;
     private Color progressColor;
     private Color indeterminateStartColor;
@@ -64,6 +77,8 @@ public class DarkProgressBarUI extends BasicProgressBarUI implements PropertyCha
     private Color passedColor;
     private Color passedEndColor;
     private int stripeWidth;
+    private int cycleTime;
+    private int frameCount;
 
     public static ComponentUI createUI(final JComponent c) {
         return new DarkProgressBarUI();
@@ -143,21 +158,16 @@ public class DarkProgressBarUI extends BasicProgressBarUI implements PropertyCha
                 }
             } else {
                 Shape shape;
-                int step = 6;
-                if (orientation == SwingConstants.HORIZONTAL) {
+                int length = frameCount * STRIPE_STEP;
+                int offset = getAnimationIndex() * STRIPE_STEP * 2;
+                boolean horizontal = orientation == SwingConstants.HORIZONTAL;
+                BufferedImage stripe = getStripe(g2, startColor, endColor, length, horizontal);
+                if (horizontal) {
                     shape = getShapedRect(r.x, yOffset, r.width, pHeight, pHeight);
-                    yOffset = r.y + pHeight / 2;
-                    g2.setPaint(new GradientPaint(r.x + getAnimationIndex() * step * 2, yOffset, startColor,
-                                                  r.x + getFrameCount() * step + getAnimationIndex() * step * 2,
-                                                  yOffset,
-                                                  endColor, true));
+                    g2.setPaint(new TexturePaint(stripe, new Rectangle(r.x + offset, yOffset, 2 * length, 1)));
                 } else {
                     shape = getShapedRect(xOffset, r.y, pWidth, r.height, pWidth);
-                    xOffset = r.x + pWidth / 2;
-                    g2.setPaint(new GradientPaint(xOffset, r.y + getAnimationIndex() * step * 2, startColor,
-                                                  xOffset,
-                                                  r.y + getFrameCount() * step + getAnimationIndex() * step * 2,
-                                                  endColor, true));
+                    g2.setPaint(new TexturePaint(stripe, new Rectangle(xOffset, r.y + offset, 1, 2 * length)));
                 }
                 g2.fill(shape);
             }
@@ -177,6 +187,48 @@ public class DarkProgressBarUI extends BasicProgressBarUI implements PropertyCha
         }
     }
 
+    /*
+     * A single period of the cyclic gradient used for the indeterminate animation. It only varies along the
+     * direction of the progress bar hence the other dimension is one pixel.
+     */
+    private static BufferedImage getStripe(final Graphics2D g, final Color startColor, final Color endColor,
+                                           final int length, final boolean horizontal) {
+        AffineTransform at = g.getTransform();
+        double scale = horizontal ? at.getScaleX() : at.getScaleY();
+        StripeKey key = new StripeKey(startColor, endColor, length, horizontal, scale);
+        BufferedImage stripe = stripeCache.get(key);
+        if (stripe == null) {
+            int size = Math.max(1, (int) Math.round(2 * length * scale));
+            stripe = horizontal
+                    ? new BufferedImage(size, 1, BufferedImage.TYPE_INT_ARGB)
+                    : new BufferedImage(1, size, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D stripeGraphics = stripe.createGraphics();
+            float half = size / 2f;
+            stripeGraphics.setPaint(horizontal
+                    ? new GradientPaint(0, 0, startColor, half, 0, endColor, true)
+                    : new GradientPaint(0, 0, startColor, 0, half, endColor, true));
+            stripeGraphics.fillRect(0, 0, stripe.getWidth(), stripe.getHeight());
+            stripeGraphics.dispose();
+            stripeCache.put(key, stripe);
+        }
+        return stripe;
+    }
+
+    @Override
+    protected void startAnimationTimer() {
+        IndeterminateAnimator.add(this);
+    }
+
+    @Override
+    protected void stopAnimationTimer() {
+        IndeterminateAnimator.remove(this);
+    }
+
+    void updateAnimationIndex(final long time) {
+        int index = (int) ((time % cycleTime) * frameCount / cycleTime);
+        if (index != getAnimationIndex()) setAnimationIndex(index);
+    }
+
     protected static boolean hasPassed(final JComponent c) {
         return PropertyUtil.getBooleanProperty(c, KEY_PASSED);
     }
@@ -184,9 +236,9 @@ public class DarkProgressBarUI extends BasicProgressBarUI implements PropertyCha
     @Override
     protected void installDefaults() {
         super.installDefaults();
-        UIManager.put("ProgressBar.repaintInterval",
-                      isSimplified() ? REPAINT_INTERVAL_SIMPLIFIED : REPAINT_INTERVAL_DEFAULT);
-        UIManager.put("ProgressBar.cycleTime", isSimplified() ? CYCLE_TIME_SIMPLIFIED : CYCLE_TIME_DEFAULT);
+        int repaintInterval = isSimplified() ? REPAINT_INTERVAL_SIMPLIFIED : REPAINT_INTERVAL_DEFAULT;
+        cycleTime = isSimplified() ? CYCLE_TIME_SIMPLIFIED : CYCLE_TIME_DEFAULT;
+        frameCount = cycleTime / repaintInterval;
         trackColor = UIManager.getColor("ProgressBar.trackColor");
         progressColor = UIManager.getColor("ProgressBar.progressColor");
         indeterminateStartColor = UIManager.getColor("ProgressBar.indeterminateStartColor");
@@ -337,6 +389,37 @@ public class DarkProgressBarUI extends BasicProgressBarUI implements PropertyCha
         return UIManager.getBoolean("ProgressBar.isSimplified");
     }
 
+    private static final class StripeKey {
+        private final int startColor;
+        private final int endColor;
+        private final int length;
+        private final boolean horizontal;
+        private final double scale;
+
+        private StripeKey(final Color startColor, final Color endColor, final int length,
+                          final boolean horizontal, final double scale) {
+            this.startColor = startColor.getRGB();
+            this.endColor = endColor.getRGB();
+            this.length = length;
+            this.horizontal = horizontal;
+            this.scale = scale;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof StripeKey)) return false;
+            StripeKey other = (StripeKey) o;
+            return startColor == other.startColor && endColor == other.endColor && length == other.length
+                   && horizontal == other.horizontal && Double.compare(scale, other.scale) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(startColor, endColor, length, horizontal, scale);
+        }
+    }
+
     @Override
     public void propertyChange(final PropertyChangeEvent evt) {
         String key = evt.getPropertyName();
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.ui.progressbar;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.weisj.darklaf.graphics.Animator;
+
+/**
+ * Single animator advancing all indeterminate progress bars.
+ *
+ * @author Jannis Weis
+ */
+final class IndeterminateAnimator extends Animator {
+
+    private static final int FRAMES = 16;
+    private static final int CYCLE_TIME = 800;
+    private static IndeterminateAnimator instance;
+
+    private final List<DarkProgressBarUI> progressBars = new ArrayList<>();
+
+    private IndeterminateAnimator() {
+        super("Indeterminate ProgressBar", FRAMES, CYCLE_TIME, true);
+    }
+
+    static void add(final DarkProgressBarUI ui) {
+        if (instance == null) instance = new IndeterminateAnimator();
+        if (instance.progressBars.contains(ui)) return;
+        instance.progressBars.add(ui);
+        if (!instance.isRunning()) instance.resume();
+    }
+
+    static void remove(final DarkProgressBarUI ui) {
+        if (instance == null) return;
+        instance.progressBars.remove(ui);
+        if (instance.progressBars.isEmpty()) instance.suspend();
+    }
+
+    @Override
+    public void paintNow(final int frame, final int totalFrames, final int cycle) {
+        long time = System.currentTimeMillis();
+        for (DarkProgressBarUI ui : progressBars.toArray(new DarkProgressBarUI[0])) {
+            ui.updateAnimationIndex(time);
+        }
+    }
+}
@@ -35,6 +35,7 @@ import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
 
 import org.jdesktop.jxlayer.JXLayer;
+import org.pbjar.jxlayer.plaf.ext.TransformUI;
 import org.pbjar.jxlayer.plaf.ext.transform.DefaultTransformModel;
 import org.pbjar.jxlayer.plaf.ext.transform.TransformUtils;
 
@@ -128,6 +129,8 @@ public class DarkTabFrameUI extends TabFrameUI implements AWTEventListener {
         leftTransformModel.setQuadrantRotation(3);
         leftTransformModel.setScaleToPreferredSize(true);
         rotatePaneLeft = TransformUtils.createTransformJXLayer(tabFrame.getLeftTabContainer(), leftTransformModel);
+        ((TransformUI) rotatePaneRight.getUI()).setCachedLayer(true);
+        ((TransformUI) rotatePaneLeft.getUI()).setCachedLayer(true);
 
         tabFrame.add(tabFrame.getTopTabContainer());
         tabFrame.add(tabFrame.getBottomTabContainer());
@@ -58,6 +58,7 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants {
 
     protected DarkTableCellEditorDelegate editorDelegate;
     protected DarkTableCellRendererDelegate rendererDelegate;
+    protected final TableRenderContext renderContext = new TableRenderContext();
 
     public static ComponentUI createUI(final JComponent c) {
         return new DarkTableUI();
@@ -363,6 +364,16 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants {
         return false;
     }
 
+    @Override
+    protected void paintCells(final Graphics g, final int rMin, final int rMax, final int cMin, final int cMax) {
+        renderContext.begin(table);
+        try {
+            super.paintCells(g, rMin, rMax, cMin, cMax);
+        } finally {
+            renderContext.end();
+        }
+    }
+
     @Override
     protected void paintCell(final Graphics g, final Rectangle cellRect, final int row, final int column) {
         Rectangle bounds = table.getVisibleRect();
@@ -433,6 +444,7 @@ public class DarkTableUI extends DarkTableUIBridge implements TableConstants {
         TableCellRenderer renderer = table.getCellRenderer(row, column);
         if (rendererDelegate == null) {
             rendererDelegate = new DarkTableCellRendererDelegate(renderer);
+            rendererDelegate.setRenderContext(renderContext);
         }
         rendererDelegate.setDelegate(renderer);
         return rendererDelegate;
@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.ui.table;
+
+import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.table.JTableHeader;
+import javax.swing.table.TableColumn;
+
+import com.github.weisj.darklaf.util.DarkUIUtil;
+import com.github.weisj.darklaf.util.PropertyUtil;
+
+/**
+ * The state of a table which is shared by all cells painted in a single paint pass. It is computed once before the
+ * cells are painted instead of being looked up for every cell.
+ *
+ * @author Jannis Weis
+ */
+public class TableRenderContext {
+
+    private JTable table;
+    private boolean valid;
+
+    private boolean tableFocused;
+    private boolean cellFocused;
+    private boolean rowFocusBorder;
+    private boolean editing;
+    private boolean alternateRowColor;
+    private boolean leftToRight;
+    private int leadSelectionRow;
+    private int draggedColumnIndex;
+    private Border focusSelectedBorder;
+
+    /**
+     * Create a context which is valid until the state of the table changes.
+     *
+     * @param  table the table.
+     * @return       the context.
+     */
+    public static TableRenderContext create(final JTable table) {
+        TableRenderContext context = new TableRenderContext();
+        context.begin(table);
+        return context;
+    }
+
+    /**
+     * Compute the state of the table. The context is valid until {@link #end()} is called.
+     *
+     * @param table the table.
+     */
+    public void begin(final JTable table) {
+        this.table = table;
+        tableFocused = DarkUIUtil.hasFocus(table);
+        cellFocused = tableFocused || DarkUIUtil.getParentOfType(JPopupMenu.class, table, 4) != null;
+        rowFocusBorder = DarkTableCellFocusBorder.isRowFocusBorder(table);
+        editing = table.isEditing();
+        alternateRowColor = PropertyUtil.getBooleanProperty(table, TableConstants.KEY_ALTERNATE_ROW_COLOR);
+        leftToRight = table.getComponentOrientation().isLeftToRight();
+        leadSelectionRow = table.getSelectionModel().getLeadSelectionIndex();
+        JTableHeader header = table.getTableHeader();
+        TableColumn draggedColumn = header != null ? header.getDraggedColumn() : null;
+        draggedColumnIndex = draggedColumn != null ? DarkTableUI.viewIndexForColumn(draggedColumn, table) : -1;
+        focusSelectedBorder = UIManager.getBorder("Table.focusSelectedCellHighlightBorder");
+        valid = true;
+    }
+
+    /**
+     * Marks the context as invalid.
+     */
+    public void end() {
+        valid = false;
+        table = null;
+    }
+
+    /**
+     * Returns whether the context describes the current state of the given table.
+     *
+     * @param  table the table.
+     * @return       true if the context is valid for the table.
+     */
+    public boolean isValidFor(final JTable table) {
+        return valid && this.table == table;
+    }
+
+    public boolean isTableFocused() {
+        return tableFocused;
+    }
+
+    /**
+     * Returns whether cells should be painted as focused. This is the case if the table or one of its children has
+     * the focus or the table is located in a popup.
+     *
+     * @return true if the cells are focused.
+     */
+    public boolean isCellFocused() {
+        return cellFocused;
+    }
+
+    public boolean isRowFocusBorder() {
+        return rowFocusBorder;
+    }
+
+    public boolean isEditing() {
+        return editing;
+    }
+
+    public boolean isAlternateRowColor() {
+        return alternateRowColor;
+    }
+
+    public boolean isLeftToRight() {
+        return leftToRight;
+    }
+
+    public int getLeadSelectionRow() {
+        return leadSelectionRow;
+    }
+
+    /**
+     * The view index of the column currently dragged in the table header.
+     *
+     * @return the index of the dragged column or -1 if no column is dragged.
+     */
+    public int getDraggedColumnIndex() {
+        return draggedColumnIndex;
+    }
+
+    public Border getFocusSelectedBorder() {
+        return focusSelectedBorder;
+    }
+}
@@ -27,24 +27,23 @@ package com.github.weisj.darklaf.ui.table.renderer;
 import java.awt.*;
 
 import javax.swing.*;
-import javax.swing.table.JTableHeader;
+import javax.swing.border.Border;
+import javax.swing.plaf.UIResource;
 import javax.swing.table.TableCellRenderer;
-import javax.swing.table.TableColumn;
 
 import com.github.weisj.darklaf.delegate.TableCellRendererDelegate;
 import com.github.weisj.darklaf.ui.cell.CellUtil;
 import com.github.weisj.darklaf.ui.cell.DarkCellRendererCheckBox;
 import com.github.weisj.darklaf.ui.cell.DarkCellRendererRadioButton;
-import com.github.weisj.darklaf.ui.table.DarkTableCellFocusBorder;
-import com.github.weisj.darklaf.ui.table.DarkTableUI;
 import com.github.weisj.darklaf.ui.table.TableConstants;
-import com.github.weisj.darklaf.util.DarkUIUtil;
+import com.github.weisj.darklaf.ui.table.TableRenderContext;
 import com.github.weisj.darklaf.util.PropertyUtil;
 
 public class DarkTableCellRendererDelegate extends TableCellRendererDelegate implements TableConstants {
 
     private final DarkCellRendererCheckBox checkBoxRenderer = new DarkCellRendererCheckBox();
     private final DarkCellRendererRadioButton radioRenderer = new DarkCellRendererRadioButton();
+    private TableRenderContext renderContext;
 
     public DarkTableCellRendererDelegate(final TableCellRenderer renderer) {
         super(renderer);
@@ -58,9 +57,10 @@ public class DarkTableCellRendererDelegate extends TableCellRendererDelegate imp
                 ? getBooleanRenderer(table)
                 : super.getDelegate();
         Component component = renderer.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
-        int horizontalAlignment = table.getComponentOrientation().isLeftToRight()
-                ? SwingConstants.LEFT
-                : SwingConstants.RIGHT;
+        TableRenderContext context = renderContext != null && renderContext.isValidFor(table)
+                ? renderContext
+                : TableRenderContext.create(table);
+        int horizontalAlignment = context.isLeftToRight() ? SwingConstants.LEFT : SwingConstants.RIGHT;
 
         if (component instanceof JLabel) {
             ((JLabel) component).setVerticalAlignment(SwingConstants.CENTER);
@@ -70,39 +70,58 @@ public class DarkTableCellRendererDelegate extends TableCellRendererDelegate imp
             ((AbstractButton) component).setHorizontalAlignment(horizontalAlignment);
         }
 
-        boolean isRowFocus = DarkTableCellFocusBorder.isRowFocusBorder(table);
-        boolean isLeadSelectionCell = DarkUIUtil.hasFocus(table) && hasFocus && !isRowFocus;
-        boolean paintSelected = isSelected && !isLeadSelectionCell && !table.isEditing();
+        boolean isRowFocus = context.isRowFocusBorder();
+        boolean isLeadSelectionCell = context.isTableFocused() && hasFocus && !isRowFocus;
+        boolean paintSelected = isSelected && !isLeadSelectionCell && !context.isEditing();
 
         if (component instanceof JComponent) {
-            setupBorderStyle(table, row, column, (JComponent) component, isRowFocus);
+            setupBorderStyle(row, column, (JComponent) component, isRowFocus, context);
         }
-        CellUtil.setupTableForeground(component, table, paintSelected);
-        CellUtil.setupTableBackground(component, table, paintSelected, row);
+        boolean focus = component.hasFocus() || context.isCellFocused();
+        boolean alternativeRow = row % 2 == 1 && context.isAlternateRowColor();
+        CellUtil.setupTableForeground(component, table, paintSelected, focus);
+        CellUtil.setupTableBackground(component, focus, paintSelected, alternativeRow);
         return component;
     }
 
+    /**
+     * Sets the context used for the cells painted in the current paint pass. If the context isn't valid for the
+     * table of a cell the state is computed for each cell.
+     *
+     * @param renderContext the render context.
+     */
+    public void setRenderContext(final TableRenderContext renderContext) {
+        this.renderContext = renderContext;
+    }
+
     public void setupBorderStyle(final JTable table, final int row, final int column,
                                  final JComponent component, final boolean isRowFocus) {
+        setupBorderStyle(row, column, component, isRowFocus, TableRenderContext.create(table));
+    }
+
+    protected void setupBorderStyle(final int row, final int column, final JComponent component,
+                                    final boolean isRowFocus, final TableRenderContext context) {
         if (isRowFocus
-            && table.getSelectionModel().getLeadSelectionIndex() == row
-            && DarkUIUtil.hasFocus(table)
-            && !table.isEditing()) {
-            LookAndFeel.installBorder(component, "Table.focusSelectedCellHighlightBorder");
-            component.putClientProperty(KEY_FULL_ROW_FOCUS_BORDER, true);
-            JTableHeader header = table.getTableHeader();
-            TableColumn draggedColumn = (header == null) ? null : header.getDraggedColumn();
+            && context.getLeadSelectionRow() == row
+            && context.isTableFocused()
+            && !context.isEditing()) {
+            Border border = component.getBorder();
+            Border focusBorder = context.getFocusSelectedBorder();
+            if (border != focusBorder && (border == null || border instanceof UIResource)) {
+                component.setBorder(focusBorder);
+            }
+            PropertyUtil.updateProperty(component, KEY_FULL_ROW_FOCUS_BORDER, true);
+            int index = context.getDraggedColumnIndex();
             boolean forceLeft = false;
             boolean forceRight = false;
-            if (draggedColumn != null) {
-                int index = DarkTableUI.viewIndexForColumn(draggedColumn, table);
+            if (index >= 0) {
                 forceLeft = column == index + 1 || column == index;
                 forceRight = column == index - 1 || column == index;
             }
-            component.putClientProperty(KEY_FORCE_RIGHT_BORDER, forceRight);
-            component.putClientProperty(KEY_FORCE_LEFT_BORDER, forceLeft);
+            PropertyUtil.updateProperty(component, KEY_FORCE_RIGHT_BORDER, forceRight);
+            PropertyUtil.updateProperty(component, KEY_FORCE_LEFT_BORDER, forceLeft);
         } else {
-            component.putClientProperty(KEY_FULL_ROW_FOCUS_BORDER, false);
+            PropertyUtil.updateProperty(component, KEY_FULL_ROW_FOCUS_BORDER, false);
         }
     }
 
@@ -324,6 +324,12 @@ public class DarkCaret extends DefaultCaret implements UIResource {
         getDarkSelectionPainter().setEnabled(paintSelectionHighlight);
     }
 
+    @Override
+    public void deinstall(final JTextComponent c) {
+        super.deinstall(c);
+        getDarkSelectionPainter().uninstall();
+    }
+
     public boolean getPasteOnMiddleMouseClick() {
         return pasteOnMiddleMouseClick;
     }
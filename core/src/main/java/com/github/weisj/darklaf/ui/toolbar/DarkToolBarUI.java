@@ -34,6 +34,7 @@ import javax.swing.plaf.ComponentUI;
 
 import com.github.weisj.darklaf.listener.MouseResponder;
 import com.github.weisj.darklaf.util.DarkUIUtil;
+import com.github.weisj.darklaf.util.PointerTracker;
 
 /**
  * @author Jannis Weis
@@ -48,7 +49,7 @@ public class DarkToolBarUI extends DarkToolBarUIBridge {
     protected Color background;
     private Dimension verticalDim = new Dimension(0, 0);
     private Dimension horizontalDim = new Dimension(0, 0);
-    private final Timer timer = new Timer(5, e -> dragTo());
+    private final PointerTracker pointerTracker = new PointerTracker("ToolBar Drag", p -> dragTo());
 
     public static ComponentUI createUI(final JComponent c) {
         return new DarkToolBarUI();
@@ -258,7 +259,7 @@ public class DarkToolBarUI extends DarkToolBarUIBridge {
             toolBar.setOrientation(SwingConstants.HORIZONTAL);
             horizontalDim = toolBar.getPreferredSize();
             toolBar.setOrientation(oldOrientation);
-            timer.start();
+            pointerTracker.start();
         }
     }
 
@@ -289,7 +290,7 @@ public class DarkToolBarUI extends DarkToolBarUIBridge {
 
     protected void stopDrag() {
         dragWindow.setVisible(false);
-        timer.stop();
+        pointerTracker.stop();
     }
 
     @Override
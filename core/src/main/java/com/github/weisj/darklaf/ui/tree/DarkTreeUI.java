@@ -28,7 +28,9 @@ import java.awt.*;
 import java.awt.event.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.List;
 
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
@@ -400,93 +402,63 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
         drawingCache.clear();
 
         if (initialPath != null && paintingEnumerator != null) {
-            TreePath parentPath = initialPath;
-
-            // Draw the lines, knobs, and rows
-
-            boolean done = false;
-            // Information for the node being rendered.
-            boolean isExpanded;
-            boolean hasBeenExpanded;
-            boolean isLeaf;
-            Rectangle boundsBuffer = new Rectangle();
-            Rectangle bounds;
-            TreePath path;
-            boolean rootVisible = isRootVisible();
+            /*
+             * Collect the rows intersecting the clip in a single pass. Row backgrounds span the whole width and
+             * have to be painted before any legs or rows, hence the rows are painted afterwards.
+             */
+            List<PaintRow> rows = new ArrayList<>();
+            while (paintingEnumerator.hasMoreElements()) {
+                TreePath path = (TreePath) paintingEnumerator.nextElement();
+                if (path == null) break;
+                Rectangle bounds = getPathBounds(path, insets, new Rectangle());
+                // This will only happen if the model changes out from under us (usually in another thread).
+                if (bounds == null) return;
+                boolean isLeaf = treeModel.isLeaf(path.getLastPathComponent());
+                boolean isExpanded = !isLeaf && treeState.getExpandedState(path);
+                boolean hasBeenExpanded = !isLeaf && tree.hasBeenExpanded(path);
+                rows.add(new PaintRow(path, bounds, row, isExpanded, hasBeenExpanded, isLeaf));
+                row++;
+                if ((bounds.y + bounds.height) >= endY) break;
+            }
 
             // Paint row backgrounds
-            Enumeration<?> backgroundEnumerator = treeState.getVisiblePathsFrom(initialPath);
-            while (backgroundEnumerator != null && backgroundEnumerator.hasMoreElements()) {
-                path = (TreePath) backgroundEnumerator.nextElement();
-                if (path != null) {
-                    isLeaf = treeModel.isLeaf(path.getLastPathComponent());
-                    if (isLeaf) {
-                        isExpanded = hasBeenExpanded = false;
-                    } else {
-                        isExpanded = treeState.getExpandedState(path);
-                        hasBeenExpanded = tree.hasBeenExpanded(path);
-                    }
-                    bounds = getPathBounds(path, insets, boundsBuffer);
-                    if (bounds == null) return;
-                    if (paintBounds.intersects(bounds)) {
-                        paintRowBackground(g, paintBounds, insets, bounds, path,
-                                           tree.getRowForPath(path), isExpanded, hasBeenExpanded, isLeaf);
-                    }
+            for (PaintRow r : rows) {
+                if (paintBounds.intersects(r.bounds)) {
+                    paintRowBackground(g, paintBounds, insets, r.bounds, r.path, r.row,
+                                       r.isExpanded, r.hasBeenExpanded, r.isLeaf);
                 }
             }
 
             // Find each parent and have them draw a line to their last child
+            TreePath parentPath = initialPath;
             while (parentPath != null) {
                 paintVerticalPartOfLeg(g, paintBounds, insets, parentPath);
                 drawingCache.put(parentPath, Boolean.TRUE);
                 parentPath = parentPath.getParentPath();
             }
 
-            while (!done && paintingEnumerator.hasMoreElements()) {
-                path = (TreePath) paintingEnumerator.nextElement();
-                if (path != null) {
-                    isLeaf = treeModel.isLeaf(path.getLastPathComponent());
-                    if (isLeaf) {
-                        isExpanded = hasBeenExpanded = false;
-                    } else {
-                        isExpanded = treeState.getExpandedState(path);
-                        hasBeenExpanded = tree.hasBeenExpanded(path);
-                    }
-                    bounds = getPathBounds(path, insets, boundsBuffer);
-                    if (bounds == null)
-                    // This will only happen if the model changes out
-                    // from under us (usually in another thread).
-                    // Swing isn't multithreaded, but I'll put this
-                    // check in anyway.
-                    {
-                        return;
-                    }
-
-                    // See if the vertical line to the parent has been drawn.
-                    parentPath = path.getParentPath();
-                    if (parentPath != null) {
-                        if (drawingCache.get(parentPath) == null) {
-                            paintVerticalPartOfLeg(g, paintBounds, insets, parentPath);
-                            drawingCache.put(parentPath, Boolean.TRUE);
-                        }
-                        paintHorizontalPartOfLeg(g, paintBounds, insets, bounds, path, row, isExpanded,
-                                                 hasBeenExpanded, isLeaf);
-                    } else if (rootVisible && row == 0) {
-                        paintHorizontalPartOfLeg(g, paintBounds, insets, bounds, path, row, isExpanded,
-                                                 hasBeenExpanded, isLeaf);
-                    }
-                    if (shouldPaintExpandControl(path, row, isExpanded, hasBeenExpanded, isLeaf)) {
-                        paintExpandControl(g, paintBounds, insets, bounds, path, row, isExpanded,
-                                           hasBeenExpanded, isLeaf);
-                    }
-                    paintRow(g, paintBounds, insets, bounds, path, row, isExpanded, hasBeenExpanded, isLeaf);
-                    if ((bounds.y + bounds.height) >= endY) {
-                        done = true;
+            // Draw the lines, knobs, and rows
+            boolean rootVisible = isRootVisible();
+            for (PaintRow r : rows) {
+                // See if the vertical line to the parent has been drawn.
+                parentPath = r.path.getParentPath();
+                if (parentPath != null) {
+                    if (drawingCache.get(parentPath) == null) {
+                        paintVerticalPartOfLeg(g, paintBounds, insets, parentPath);
+                        drawingCache.put(parentPath, Boolean.TRUE);
                     }
-                } else {
-                    done = true;
+                    paintHorizontalPartOfLeg(g, paintBounds, insets, r.bounds, r.path, r.row, r.isExpanded,
+                                             r.hasBeenExpanded, r.isLeaf);
+                } else if (rootVisible && r.row == 0) {
+                    paintHorizontalPartOfLeg(g, paintBounds, insets, r.bounds, r.path, r.row, r.isExpanded,
+                                             r.hasBeenExpanded, r.isLeaf);
                 }
-                row++;
+                if (shouldPaintExpandControl(r.path, r.row, r.isExpanded, r.hasBeenExpanded, r.isLeaf)) {
+                    paintExpandControl(g, paintBounds, insets, r.bounds, r.path, r.row, r.isExpanded,
+                                       r.hasBeenExpanded, r.isLeaf);
+                }
+                paintRow(g, paintBounds, insets, r.bounds, r.path, r.row, r.isExpanded, r.hasBeenExpanded,
+                         r.isLeaf);
             }
         }
         paintDropLine(g);
@@ -629,7 +601,7 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
         int clipLeft = clipBounds.x;
         int clipRight = clipBounds.x + (clipBounds.width - 1);
         int clipTop = clipBounds.y;
-        int clipBottom = clipBounds.y + tree.getHeight();
+        int clipBottom = clipBounds.y + clipBounds.height;
 
         Rectangle parentBounds = getPathBounds(tree, path);
 
@@ -668,14 +640,17 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
 
         int childCount = treeModel.getChildCount(path.getLastPathComponent());
         g.setColor(getLineColor(path));
-        for (int i = 0; i < childCount - 1; i++) {
+        for (int i = getFirstChildInClip(path, parentBounds, clipTop, childCount); i < childCount - 1; i++) {
             TreePath childPath = path.pathByAddingChild(treeModel.getChild(path.getLastPathComponent(), i));
             Rectangle childBounds = getPathBounds(tree, childPath);
             if (childBounds != null) {
                 bottom = Math.min(childBounds.y + childBounds.height, clipBottom);
-                paintVerticalLine(g, tree, lineX, top, bottom);
-                top = bottom;
-                if (clipBottom < top) return;
+                if (bottom > top) {
+                    paintVerticalLine(g, tree, lineX, top, bottom);
+                    top = bottom;
+                }
+                // The remaining children are below the clip.
+                if (childBounds.y + childBounds.height >= clipBottom) return;
             }
         }
 
@@ -695,6 +670,29 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
         }
     }
 
+    /*
+     * Returns the index of the child of the given path which contains the first row inside the clip. Children above it
+     * don't need to be visited, as their part of the leg isn't visible.
+     */
+    private int getFirstChildInClip(final TreePath path, final Rectangle parentBounds, final int clipTop,
+                                    final int childCount) {
+        TreePath firstPath = getClosestPathForLocation(tree, 0, clipTop);
+        if (firstPath == null) return 0;
+        TreePath child = firstPath;
+        while (child != null && !path.equals(child.getParentPath())) {
+            child = child.getParentPath();
+        }
+        if (child != null) {
+            return Math.max(0, treeModel.getIndexOfChild(path.getLastPathComponent(), child.getLastPathComponent()));
+        }
+        Rectangle firstBounds = getPathBounds(tree, firstPath);
+        if (parentBounds != null && firstBounds != null && firstBounds.y > parentBounds.y) {
+            // The first row in the clip is below all children of the path.
+            return Math.max(0, childCount - 1);
+        }
+        return 0;
+    }
+
     @Override
     protected void paintExpandControl(final Graphics g, final Rectangle clipBounds, final Insets insets,
                                       final Rectangle bounds, final TreePath path, final int row,
@@ -752,4 +750,23 @@ public class DarkTreeUI extends BasicTreeUI implements PropertyChangeListener {
     }
 
     private abstract static class TreeUIAction extends AbstractAction implements UIResource {}
+
+    private static final class PaintRow {
+        private final TreePath path;
+        private final Rectangle bounds;
+        private final int row;
+        private final boolean isExpanded;
+        private final boolean hasBeenExpanded;
+        private final boolean isLeaf;
+
+        private PaintRow(final TreePath path, final Rectangle bounds, final int row, final boolean isExpanded,
+                         final boolean hasBeenExpanded, final boolean isLeaf) {
+            this.path = path;
+            this.bounds = bounds;
+            this.row = row;
+            this.isExpanded = isExpanded;
+            this.hasBeenExpanded = hasBeenExpanded;
+            this.isLeaf = isLeaf;
+        }
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.util;
+
+import java.awt.*;
+import java.awt.event.AWTEventListener;
+import java.util.function.Consumer;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.graphics.FrameClock;
+
+/**
+ * Tracks the location of the mouse pointer on screen and notifies the listener on the event dispatch thread whenever
+ * it has changed. Mouse events of the application are observed through an {@link AWTEventListener}. Because the
+ * pointer may leave the windows of the application its location is also sampled at the frame rate of the
+ * {@link FrameClock}. The listener is notified at most once per frame.
+ *
+ * @author Jannis Weis
+ */
+public class PointerTracker {
+
+    private static final long EVENT_MASK = AWTEvent.MOUSE_EVENT_MASK | AWTEvent.MOUSE_MOTION_EVENT_MASK;
+
+    private final Consumer<Point> listener;
+    private final AWTEventListener eventListener = e -> checkPointer();
+    private final Point lastLocation = new Point();
+    private final Timer timer;
+    private boolean hasLocation;
+    private long lastUpdate;
+
+    public PointerTracker(final String name, final Consumer<Point> listener) {
+        this.listener = listener;
+        timer = TimerUtil.createNamedTimer(name, 1000 / FrameClock.getFrameRate(), e -> checkPointer());
+    }
+
+    /**
+     * Starts tracking the pointer. The listener is notified about the current location on the next update.
+     */
+    public void start() {
+        if (timer.isRunning()) return;
+        hasLocation = false;
+        timer.setDelay(1000 / FrameClock.getFrameRate());
+        timer.start();
+        try {
+            Toolkit.getDefaultToolkit().addAWTEventListener(eventListener, EVENT_MASK);
+        } catch (SecurityException ignored) {
+            // Fall back to sampling the location.
+        }
+    }
+
+    /**
+     * Stops tracking the pointer.
+     */
+    public void stop() {
+        if (!timer.isRunning()) return;
+        timer.stop();
+        try {
+            Toolkit.getDefaultToolkit().removeAWTEventListener(eventListener);
+        } catch (SecurityException ignored) {
+        }
+    }
+
+    public boolean isRunning() {
+        return timer.isRunning();
+    }
+
+    private void checkPointer() {
+        if (!timer.isRunning()) return;
+        long time = System.currentTimeMillis();
+        if (time - lastUpdate < timer.getDelay() / 2) return;
+        PointerInfo pointerInfo = MouseInfo.getPointerInfo();
+        if (pointerInfo == null) return;
+        Point location = pointerInfo.getLocation();
+        if (hasLocation && location.equals(lastLocation)) return;
+        hasLocation = true;
+        lastLocation.setLocation(location);
+        lastUpdate = time;
+        listener.accept(location);
+    }
+}
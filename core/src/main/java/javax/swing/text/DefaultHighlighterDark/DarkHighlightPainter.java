@@ -29,9 +29,12 @@ import java.awt.font.TextAttribute;
 import java.awt.geom.Arc2D;
 import java.awt.geom.Area;
 import java.awt.geom.Rectangle2D;
-import java.util.Objects;
+import java.beans.PropertyChangeListener;
+import java.util.*;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.text.*;
 
 import sun.swing.SwingUtilities2;
@@ -73,6 +76,44 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
 
     private final Point tmpPoint = new Point();
 
+    /*
+     * The geometry of the painted layers. Computing it requires several conversions between model and view
+     * coordinates. It only depends on the document, the selection, the size of the component and the properties
+     * affecting the layout of the text.
+     */
+    private static final int MAX_CACHED_LAYERS = 1024;
+    private final Map<Long, LayerGeometry> geometryCache = new HashMap<>();
+    private final DocumentListener documentListener = new DocumentListener() {
+        @Override
+        public void insertUpdate(final DocumentEvent e) {
+            geometryCache.clear();
+        }
+
+        @Override
+        public void removeUpdate(final DocumentEvent e) {
+            geometryCache.clear();
+        }
+
+        @Override
+        public void changedUpdate(final DocumentEvent e) {
+            geometryCache.clear();
+        }
+    };
+    private static final Set<String> LAYOUT_PROPERTIES = new HashSet<>(Arrays.asList("tabSize", "lineWrap",
+                                                                                       "wrapStyleWord", "margin",
+                                                                                       "border", "editorKit",
+                                                                                       "componentOrientation"));
+    private final PropertyChangeListener propertyChangeListener = e -> {
+        if (LAYOUT_PROPERTIES.contains(e.getPropertyName())) geometryCache.clear();
+    };
+    private JTextComponent cachedComponent;
+    private Document cachedDocument;
+    private int cachedSelStart = -1;
+    private int cachedSelEnd = -1;
+    private int cachedWidth = -1;
+    private int cachedHeight = -1;
+    private Font cachedFont;
+
     public DarkHighlightPainter() {
         this(null);
     }
@@ -101,6 +142,7 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
 
     public void setRoundedEdges(final boolean rounded) {
         roundedEdges = rounded;
+        geometryCache.clear();
     }
 
     @Override
@@ -230,6 +272,83 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
 
     protected Rectangle paintRoundedLayer(final Graphics2D g, final JTextComponent c, final int offs0, final int offs1,
                                           final GraphicsContext context, final boolean isPaintingPreceding) {
+        LayerGeometry geometry = isPaintingPreceding
+                ? computeLayerGeometry(c, offs0, offs1, true)
+                : getLayerGeometry(c, offs0, offs1);
+        return paintLayerGeometry(g, context, geometry);
+    }
+
+    private Rectangle paintLayerGeometry(final Graphics2D g, final GraphicsContext context,
+                                         final LayerGeometry geometry) {
+        Rectangle layerRect = paintRoundRect(g, context, geometry.layerRect,
+                                             geometry.roundedTopLeft, geometry.roundedTopRight,
+                                             geometry.roundedBottomLeft, geometry.roundedBottomRight);
+        Rectangle r = paintArcs(g, context, layerRect,
+                                geometry.arcTopLeft, geometry.arcTopRight,
+                                geometry.arcBottomLeft, geometry.arcBottomRight);
+        if (geometry.preceding != null) {
+            Rectangle prev = paintLayerGeometry(g, context, geometry.preceding);
+            convexHull(r, prev);
+        }
+        return r;
+    }
+
+    private LayerGeometry getLayerGeometry(final JTextComponent c, final int offs0, final int offs1) {
+        validateGeometryCache(c);
+        Long key = ((long) offs0 << 32) | (offs1 & 0xFFFFFFFFL);
+        LayerGeometry geometry = geometryCache.get(key);
+        if (geometry == null) {
+            geometry = computeLayerGeometry(c, offs0, offs1, false);
+            if (geometryCache.size() >= MAX_CACHED_LAYERS) geometryCache.clear();
+            geometryCache.put(key, geometry);
+        }
+        return geometry;
+    }
+
+    /**
+     * Releases the cached geometry and stops listening to the component and document the highlights were last painted
+     * for. The cache is rebuilt the next time the painter is used. Users of the painter have to call this method once
+     * it isn't used anymore, otherwise the listeners keep it alive as long as the component.
+     */
+    public void uninstall() {
+        if (cachedDocument != null) {
+            cachedDocument.removeDocumentListener(documentListener);
+            cachedDocument = null;
+        }
+        if (cachedComponent != null) {
+            cachedComponent.removePropertyChangeListener(propertyChangeListener);
+            cachedComponent = null;
+        }
+        geometryCache.clear();
+    }
+
+    private void validateGeometryCache(final JTextComponent c) {
+        if (c != cachedComponent) {
+            if (cachedComponent != null) cachedComponent.removePropertyChangeListener(propertyChangeListener);
+            cachedComponent = c;
+            c.addPropertyChangeListener(propertyChangeListener);
+            geometryCache.clear();
+        }
+        Document doc = c.getDocument();
+        if (doc != cachedDocument) {
+            if (cachedDocument != null) cachedDocument.removeDocumentListener(documentListener);
+            cachedDocument = doc;
+            if (doc != null) doc.addDocumentListener(documentListener);
+            geometryCache.clear();
+        }
+        if (cachedSelStart != c.getSelectionStart() || cachedSelEnd != c.getSelectionEnd()
+            || cachedWidth != c.getWidth() || cachedHeight != c.getHeight() || cachedFont != c.getFont()) {
+            cachedSelStart = c.getSelectionStart();
+            cachedSelEnd = c.getSelectionEnd();
+            cachedWidth = c.getWidth();
+            cachedHeight = c.getHeight();
+            cachedFont = c.getFont();
+            geometryCache.clear();
+        }
+    }
+
+    private LayerGeometry computeLayerGeometry(final JTextComponent c, final int offs0, final int offs1,
+                                               final boolean isPaintingPreceding) {
         Insets ins = DarkUIUtil.addInsets(c.getInsets(), c.getMargin(), true);
 
         Rectangle posOffs0 = getPosRect(c, offs0);
@@ -334,22 +453,19 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
         boolean arcBottomRight = nextLineVisible && !roundedBottomRight
                                  && rightArcVisible(currentLineRect, nextLineRect);
 
-        layerRect = paintRoundRect(g, context, layerRect,
-                                   canRoundLeft && roundedTopLeft,
-                                   canRoundRight && roundedTopRight,
-                                   canRoundLeft && roundedBottomLeft,
-                                   canRoundRight && roundedBottomRight);
-        Rectangle r = paintArcs(g, context, layerRect,
-                                canRoundLeft && arcTopLeft,
-                                canRoundRight && arcTopRight,
-                                canRoundLeft && arcBottomLeft,
-                                canRoundRight && arcBottomRight);
-
-        if (paintPreviousLine && !isPaintingPreceding) {
-            Rectangle prev = paintRoundedLayer(g, c, previousLineStart, previousLineEnd, context, true);
-            convexHull(r, prev);
-        }
-        return r;
+        LayerGeometry preceding = paintPreviousLine && !isPaintingPreceding
+                ? computeLayerGeometry(c, previousLineStart, previousLineEnd, true)
+                : null;
+        return new LayerGeometry(layerRect,
+                                 canRoundLeft && roundedTopLeft,
+                                 canRoundRight && roundedTopRight,
+                                 canRoundLeft && roundedBottomLeft,
+                                 canRoundRight && roundedBottomRight,
+                                 canRoundLeft && arcTopLeft,
+                                 canRoundRight && arcTopRight,
+                                 canRoundLeft && arcBottomLeft,
+                                 canRoundRight && arcBottomRight,
+                                 preceding);
     }
 
     private void extendLine(final JTextComponent c, final Insets ins, final Rectangle previousLineRect,
@@ -372,6 +488,7 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
 
     public void setLineExtendingEnabled(final boolean enabled) {
         extendLines = enabled;
+        geometryCache.clear();
     }
 
     private boolean leftRoundedVisible(final Rectangle current, final Rectangle other) {
@@ -609,6 +726,37 @@ public class DarkHighlightPainter extends DefaultHighlighter.DefaultHighlightPai
         this.enabled = enabled;
     }
 
+    private static final class LayerGeometry {
+        private final Rectangle layerRect;
+        private final boolean roundedTopLeft;
+        private final boolean roundedTopRight;
+        private final boolean roundedBottomLeft;
+        private final boolean roundedBottomRight;
+        private final boolean arcTopLeft;
+        private final boolean arcTopRight;
+        private final boolean arcBottomLeft;
+        private final boolean arcBottomRight;
+        private final LayerGeometry preceding;
+
+        private LayerGeometry(final Rectangle layerRect,
+                              final boolean roundedTopLeft, final boolean roundedTopRight,
+                              final boolean roundedBottomLeft, final boolean roundedBottomRight,
+                              final boolean arcTopLeft, final boolean arcTopRight,
+                              final boolean arcBottomLeft, final boolean arcBottomRight,
+                              final LayerGeometry preceding) {
+            this.layerRect = layerRect;
+            this.roundedTopLeft = roundedTopLeft;
+            this.roundedTopRight = roundedTopRight;
+            this.roundedBottomLeft = roundedBottomLeft;
+            this.roundedBottomRight = roundedBottomRight;
+            this.arcTopLeft = arcTopLeft;
+            this.arcTopRight = arcTopRight;
+            this.arcBottomLeft = arcBottomLeft;
+            this.arcBottomRight = arcBottomRight;
+            this.preceding = preceding;
+        }
+    }
+
     private static class HighlighterColor extends ColorWrapper {
 
         private boolean enabled;
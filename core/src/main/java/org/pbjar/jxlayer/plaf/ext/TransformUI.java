@@ -32,9 +32,12 @@ package org.pbjar.jxlayer.plaf.ext;
  */
 
 import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
 import java.beans.PropertyChangeListener;
 import java.util.*;
 import java.util.logging.ConsoleHandler;
@@ -83,6 +86,9 @@ import com.sun.java.swing.SwingUtilities3;
  * extreme size, even if not all of its contents will actually be visible on the screen.
  * <li>Rather than configuring the screen graphics object, the image's graphics object is
  * configured through {@link #configureGraphics(Graphics2D, JXLayer)}.
+ * <li>If the cached layer mode is enabled through {@link #setCachedLayer(boolean)}, the transformed content
+ * is instead retained in a {@link VolatileImage} the size of the layer in device pixels. Only the regions
+ * reported dirty by descendants are rendered again, all other paint requests copy the retained image.
  * <li>Regardless of whether or not the view is opaque, a background color is painted. It is
  * obtained from the first component upwards in the hierarchy starting with the view, that is
  * opaque. If an opaque component is not found, the background color of the layer is used.
@@ -121,6 +127,7 @@ public class TransformUI extends MouseEventUI<JComponent> {
     private static final boolean delegatePossible;
     private static final RepaintManager wrappedManager = new TransformRepaintManager();
     private static final Logger LOGGER = LogUtil.getLogger(TransformUI.class);
+    private static final int MAX_RENDER_ATTEMPTS = 3;
 
     static {
         LOGGER.setUseParentHandlers(false);
@@ -142,6 +149,15 @@ public class TransformUI extends MouseEventUI<JComponent> {
     }
 
     private final ChangeListener changeListener = e -> revalidateLayer();
+    /*
+     * Descendants which aren't showing don't report dirty regions, hence changes made while the layer is hidden
+     * can't be tracked.
+     */
+    private final HierarchyListener hierarchyListener = e -> {
+        if ((e.getChangeFlags() & (HierarchyEvent.SHOWING_CHANGED | HierarchyEvent.PARENT_CHANGED)) != 0) {
+            invalidateLayerCache();
+        }
+    };
     private final RepaintManagerProvider rpmProvider = new RepaintManagerProvider() {
 
         @Override
@@ -167,6 +183,12 @@ public class TransformUI extends MouseEventUI<JComponent> {
     private TransformModel transformModel;
     private LayoutManager originalLayout;
 
+    private boolean cachedLayer;
+    private VolatileImage layerImage;
+    private double layerImageScale;
+    private AffineTransform layerImageTransform;
+    private final Rectangle dirtyRegion = new Rectangle();
+
     /**
      * Construct a {@link TransformUI} with a {@link DefaultTransformModel}.
      */
@@ -185,6 +207,7 @@ public class TransformUI extends MouseEventUI<JComponent> {
     }
 
     private void revalidateLayer() {
+        invalidateLayerCache();
         JXLayer<? extends JComponent> installedLayer = this.getInstalledLayer();
         if (installedLayer != null) {
             installedLayer.revalidate();
@@ -229,6 +252,141 @@ public class TransformUI extends MouseEventUI<JComponent> {
         this.renderingHints.putAll(hints);
     }
 
+    /**
+     * Returns whether the transformed content is retained between paint calls.
+     *
+     * @return true if the cached layer mode is enabled.
+     * @see    #setCachedLayer(boolean)
+     */
+    public boolean isCachedLayer() {
+        return cachedLayer;
+    }
+
+    /**
+     * Set whether the transformed content should be retained between paint calls. When enabled, the view is
+     * rendered into an image the size of the layer in device pixels which is only updated in the regions
+     * reported dirty by descendants of the layer.
+     *
+     * @param cachedLayer true if the content should be cached.
+     */
+    public void setCachedLayer(final boolean cachedLayer) {
+        if (this.cachedLayer == cachedLayer) return;
+        this.cachedLayer = cachedLayer;
+        if (!cachedLayer) flushLayerImage();
+        invalidateLayerCache();
+        JXLayer<? extends JComponent> installedLayer = this.getInstalledLayer();
+        if (installedLayer != null) {
+            installedLayer.repaint();
+        }
+    }
+
+    /**
+     * Mark the whole cached content as dirty. Has no effect if the cached layer mode isn't enabled.
+     */
+    public void invalidateLayerCache() {
+        synchronized (dirtyRegion) {
+            dirtyRegion.setBounds(0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Mark a region of the cached content as dirty. Primarily intended for use by {@link RepaintManager}.
+     *
+     * @param region the region in the coordinate space of the layer.
+     */
+    public void markDirty(final Rectangle region) {
+        if (!cachedLayer || region.isEmpty()) return;
+        synchronized (dirtyRegion) {
+            // Grow by one pixel to account for antialiasing of the transformed content.
+            Rectangle r = new Rectangle(region.x - 1, region.y - 1, region.width + 2, region.height + 2);
+            if (dirtyRegion.isEmpty()) {
+                dirtyRegion.setBounds(r);
+            } else {
+                dirtyRegion.add(r);
+            }
+        }
+    }
+
+    @Override
+    public void paint(final Graphics g, final JComponent c) {
+        JXLayer<? extends JComponent> layer = getInstalledLayer();
+        GraphicsConfiguration gc = layer != null ? layer.getGraphicsConfiguration() : null;
+        if (!cachedLayer || gc == null || c.getWidth() <= 0 || c.getHeight() <= 0) {
+            super.paint(g, c);
+            return;
+        }
+        Graphics2D g2 = (Graphics2D) g;
+        AffineTransform at = g2.getTransform();
+        double scale = Math.max(Math.abs(at.getScaleX()), Math.abs(at.getScaleY()));
+        if (scale <= 0) scale = 1;
+        int width = layer.getWidth();
+        int height = layer.getHeight();
+        for (int attempt = 0; attempt < MAX_RENDER_ATTEMPTS; attempt++) {
+            VolatileImage image = validateLayerImage(gc, layer, scale);
+            Rectangle region;
+            synchronized (dirtyRegion) {
+                region = dirtyRegion.intersection(new Rectangle(0, 0, width, height));
+                dirtyRegion.setBounds(0, 0, 0, 0);
+            }
+            if (!region.isEmpty()) {
+                renderLayerImage(image, region, scale, layer);
+            }
+            g2.drawImage(image, 0, 0, width, height, null);
+            if (!image.contentsLost()) return;
+            invalidateLayerCache();
+        }
+        super.paint(g, c);
+    }
+
+    private VolatileImage validateLayerImage(final GraphicsConfiguration gc,
+                                             final JXLayer<? extends JComponent> layer, final double scale) {
+        int imageWidth = (int) Math.ceil(layer.getWidth() * scale);
+        int imageHeight = (int) Math.ceil(layer.getHeight() * scale);
+        AffineTransform transform = getTransform(layer);
+        if (layerImage != null && (layerImage.getWidth() != imageWidth || layerImage.getHeight() != imageHeight
+                                   || layerImageScale != scale
+                                   || layerImage.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE)) {
+            flushLayerImage();
+        }
+        if (layerImage == null) {
+            layerImage = gc.createCompatibleVolatileImage(imageWidth, imageHeight, Transparency.TRANSLUCENT);
+            layerImageScale = scale;
+            layerImage.validate(gc);
+            invalidateLayerCache();
+        } else if (layerImage.contentsLost()) {
+            invalidateLayerCache();
+        }
+        if (!Objects.equals(transform, layerImageTransform)) {
+            layerImageTransform = transform;
+            invalidateLayerCache();
+        }
+        return layerImage;
+    }
+
+    private void renderLayerImage(final VolatileImage image, final Rectangle region, final double scale,
+                                  final JXLayer<? extends JComponent> layer) {
+        Graphics2D g = image.createGraphics();
+        try {
+            g.scale(scale, scale);
+            g.clip(region);
+            g.setComposite(AlphaComposite.Clear);
+            g.fill(region);
+            g.setComposite(AlphaComposite.SrcOver);
+            configureGraphics(g, layer);
+            paintLayer(g, layer);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private void flushLayerImage() {
+        if (layerImage != null) {
+            layerImage.flush();
+            layerImage = null;
+        }
+        layerImageTransform = null;
+    }
+
     /**
      * Get the {@link TransformModel}.
      *
@@ -380,6 +538,7 @@ public class TransformUI extends MouseEventUI<JComponent> {
         JXLayer<? extends JComponent> installedLayer = this.getInstalledLayer();
         originalLayout = installedLayer.getLayout();
         installedLayer.addPropertyChangeListener(KEY_VIEW, this.viewChangeListener);
+        installedLayer.addHierarchyListener(this.hierarchyListener);
         installedLayer.setLayout(transformLayout);
         setView(installedLayer.getView());
         if (!delegatePossible) {
@@ -397,8 +556,10 @@ public class TransformUI extends MouseEventUI<JComponent> {
         JXLayer<? extends JComponent> installedLayer = this.getInstalledLayer();
         Objects.requireNonNull(installedLayer)
                .removePropertyChangeListener(KEY_VIEW, this.viewChangeListener);
+        installedLayer.removeHierarchyListener(this.hierarchyListener);
         installedLayer.setLayout(originalLayout);
         setView(null);
+        flushLayerImage();
         super.uninstallUI(c);
     }
 
@@ -409,6 +570,7 @@ public class TransformUI extends MouseEventUI<JComponent> {
             }
         }
         this.view = view;
+        invalidateLayerCache();
         if (delegatePossible) {
             if (this.view != null) {
                 SwingUtilities3.setDelegateRepaintManager(this.view, wrappedManager);
@@ -447,6 +609,17 @@ public class TransformUI extends MouseEventUI<JComponent> {
         }
     }
 
+    /**
+     * Overridden to discard the cached content if the layer is marked as dirty.
+     *
+     * @param isDirty whether the layer is dirty.
+     */
+    @Override
+    protected void setDirty(final boolean isDirty) {
+        if (isDirty) invalidateLayerCache();
+        super.setDirty(isDirty);
+    }
+
     /**
      * Mark {@link TransformUI} as dirty if the LookAndFeel was changed.
      *
@@ -454,6 +627,7 @@ public class TransformUI extends MouseEventUI<JComponent> {
      */
     @Override
     public void updateUI(final JXLayer<? extends JComponent> layer) {
+        invalidateLayerCache();
         setDirty(true);
     }
 
@@ -575,13 +749,18 @@ public class TransformUI extends MouseEventUI<JComponent> {
          */
         @Override
         public void addDirtyRegion(final JComponent c, final int x, final int y, final int w, final int h) {
-            if (c.isShowing()) {
+            if (!c.isShowing()) {
+                // The change can't be located, hence the cached content has to be rendered again.
+                JXLayer<? extends JComponent> layer = findJXLayerOrNull(c);
+                if (layer != null) ((TransformUI) layer.getUI()).invalidateLayerCache();
+            } else {
                 JXLayer<? extends JComponent> layer = findJXLayer(c);
                 TransformUI ui = (TransformUI) layer.getUI();
                 Point point = c.getLocationOnScreen();
                 SwingUtilities.convertPointFromScreen(point, layer);
                 Rectangle transformPortRegion = ui.transform(new Rectangle(x + point.x, y + point.y, w, h),
                                                              layer);
+                ui.markDirty(transformPortRegion);
                 RepaintManager.currentManager(layer).addDirtyRegion(layer,
                                                                     transformPortRegion.x,
                                                                     transformPortRegion.y,
@@ -596,18 +775,24 @@ public class TransformUI extends MouseEventUI<JComponent> {
          * @param  c a component
          * @return   the ancestor {@link JXLayer} instance
          */
-        @SuppressWarnings("unchecked")
         private JXLayer<? extends JComponent> findJXLayer(final JComponent c) {
+            JXLayer<? extends JComponent> layer = findJXLayerOrNull(c);
+            if (layer == null) throw new Error("No parent JXLayer with TransformUI found");
+            return layer;
+        }
+
+        @SuppressWarnings("unchecked")
+        private JXLayer<? extends JComponent> findJXLayerOrNull(final JComponent c) {
             JXLayer<?> layer = (JXLayer<?>) SwingUtilities.getAncestorOfClass(JXLayer.class, c);
             if (layer != null) {
                 LayerUI<?> layerUI = layer.getUI();
                 if (layerUI instanceof TransformUI) {
                     return (JXLayer<? extends JComponent>) layer;
                 } else {
-                    return findJXLayer(layer);
+                    return findJXLayerOrNull(layer);
                 }
             }
-            throw new Error("No parent JXLayer with TransformUI found");
+            return null;
         }
     }
 }
@@ -105,11 +105,16 @@ public final class TransformRPMImpl {
                 SwingUtilities.convertPointFromScreen(point, layer);
                 Rectangle transformPortRegion = ui.transform(new Rectangle(x + point.x, y + point.y, w, h),
                                                              (JXLayer<JComponent>) layer);
+                ui.markDirty(transformPortRegion);
                 manager.addDirtyRegion(layer,
                                        transformPortRegion.x, transformPortRegion.y,
                                        transformPortRegion.width, transformPortRegion.height);
                 return true;
             }
+        } else {
+            // The change can't be located, hence the cached content has to be rendered again.
+            JXLayer<?> layer = findJXLayer(aComponent);
+            if (layer != null) ((TransformUI) layer.getUI()).invalidateLayerCache();
         }
         return false;
     }
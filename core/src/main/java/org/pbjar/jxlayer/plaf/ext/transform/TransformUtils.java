@@ -31,6 +31,7 @@
 package org.pbjar.jxlayer.plaf.ext.transform;
 
 import org.jdesktop.jxlayer.JXLayer;
+import org.jdesktop.jxlayer.plaf.LayerUI;
 import org.pbjar.jxlayer.plaf.ext.TransformUI;
 
 import javax.swing.*;
@@ -83,7 +84,7 @@ public final class TransformUtils {
                                                              final Map<RenderingHints.Key, Object> hints) {
         TransformUI ui = new TransformUI(model);
         ui.setRenderingHints(hints);
-        return new JXLayer<>(component, ui);
+        return new TransformJXLayer(component, ui);
     }
 
     /**
@@ -107,4 +108,24 @@ public final class TransformUtils {
     public static JXLayer<JComponent> createTransformJXLayer(final JComponent component, final TransformModel model) {
         return createTransformJXLayer(component, model, null);
     }
+
+    /*
+     * Explicit repaints of the layer itself don't pass through the repaint manager of the view. They are reported to
+     * the ui, so its cached content doesn't become outdated.
+     */
+    private static final class TransformJXLayer extends JXLayer<JComponent> {
+
+        private TransformJXLayer(final JComponent view, final TransformUI ui) {
+            super(view, ui);
+        }
+
+        @Override
+        public void repaint(final long tm, final int x, final int y, final int width, final int height) {
+            LayerUI<JComponent> ui = getUI();
+            if (ui instanceof TransformUI) {
+                ((TransformUI) ui).markDirty(new Rectangle(x, y, width, height));
+            }
+            super.repaint(tm, x, y, width, height);
+        }
+    }
 }
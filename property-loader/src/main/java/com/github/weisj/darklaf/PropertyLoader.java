@@ -34,7 +34,6 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import javax.swing.*;
 import javax.swing.plaf.DimensionUIResource;
@@ -46,7 +45,6 @@ import com.github.weisj.darklaf.icons.IconLoader;
 import com.github.weisj.darklaf.icons.StateIcon;
 import com.github.weisj.darklaf.uiresource.DarkColorUIResource;
 import com.github.weisj.darklaf.uiresource.DarkFontUIResource;
-import com.github.weisj.darklaf.util.ColorUtil;
 import com.github.weisj.darklaf.util.LogUtil;
 import com.github.weisj.darklaf.util.Pair;
 import com.github.weisj.darklaf.util.PropertyValue;
@@ -71,6 +69,7 @@ public final class PropertyLoader {
     private static final String FONT_SIZE = "withSize";
     private static final String FONT_STYLE = "withStyle";
     private static final char FONT_DELIMITER = '-';
+    private static final String FONT_SUFFIX = "font";
 
     private static final char LIST_START = '{';
     private static final char LIST_END = '}';
@@ -80,6 +79,8 @@ public final class PropertyLoader {
     private static final char LIST_SEPARATOR = ';';
     private static final char PAIR_SEPARATOR = ':';
 
+    private static final Object LOAD_ERROR = new LoadError();
+
     private static boolean addReferenceInfo;
 
     private static final Map<AttributedCharacterIterator.Attribute, Integer> attributes = Collections.emptyMap();
@@ -164,7 +165,7 @@ public final class PropertyLoader {
 
     private static String parseKey(final String key) {
         if (addReferenceInfo) return key;
-        return key.startsWith(String.valueOf(REFERENCE_PREFIX)) ? key.substring(1) : key;
+        return startsWith(key, REFERENCE_PREFIX) ? key.substring(1) : key;
     }
 
     public static Object parseValue(final String propertyKey, final String value,
@@ -175,58 +176,86 @@ public final class PropertyLoader {
         }
         String key = propertyKey;
         boolean skipObjects = false;
-        if (key.startsWith(String.valueOf(REFERENCE_PREFIX))) {
+        if (startsWith(key, REFERENCE_PREFIX)) {
             key = parseKey(key);
             skipObjects = true;
         }
 
-        final Color color = ColorUtil.fromHex(value, null);
-        final Integer invVal = getInteger(value);
-        final Boolean boolVal = PropertyValue.TRUE.equalsIgnoreCase(value)
-                ? Boolean.TRUE
-                : PropertyValue.FALSE.equalsIgnoreCase(value) ? Boolean.FALSE : null;
-        if (color != null && (value.length() == 6 || value.length() == 8)) {
-            return new DarkColorUIResource(color);
-        } else if (invVal != null) {
-            return invVal;
-        } else if (boolVal != null) {
-            return boolVal;
+        /*
+         * Primitive values are recognized by inspecting the characters directly. This avoids throwing (and catching)
+         * a NumberFormatException for the majority of values, which aren't numbers.
+         */
+        if (isHexColor(value)) {
+            return new DarkColorUIResource(new Color(parseHex(value)));
+        }
+        final Integer intVal = getInteger(value);
+        if (intVal != null) {
+            return intVal;
+        } else if (PropertyValue.TRUE.equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        } else if (PropertyValue.FALSE.equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+
+        Object returnVal = LOAD_ERROR;
+        KeyType keyType = getKeyType(key);
+        if (keyType == KeyType.OBJECT && skipObjects) keyType = KeyType.OTHER;
+        switch (keyType) {
+            case INSETS :
+                returnVal = parseInsets(value, accumulator, currentDefaults, iconLoader);
+                break;
+            case OBJECT :
+                return new LazyObjectValue(value);
+            case COMPONENT :
+                return new ActiveObjectValue(value);
+            case FONT :
+                returnVal = parseFont(key, value, accumulator, currentDefaults);
+                break;
+            case ICON :
+                returnVal = parseIcon(value, accumulator, currentDefaults, iconLoader);
+                break;
+            case SIZE :
+                returnVal = parseSize(value);
+                break;
+            default :
+                break;
+        }
+        if (keyType == KeyType.OTHER) {
+            if (startsWith(value, LIST_START) && endsWith(value, LIST_END)) {
+                returnVal = parseList((v, acc, defs, iconL) -> PropertyLoader.parseValue("", v, acc, defs, iconL),
+                                      value, accumulator, currentDefaults, iconLoader);
+            } else if (startsWith(value, INT_LIST_START) && endsWith(value, INT_LIST_END)) {
+                returnVal = parseList((SimpleValueMapper<Integer>) Integer::parseInt, value, accumulator,
+                                      currentDefaults, iconLoader, INT_LIST_START, INT_LIST_END, SEPARATOR);
+            } else if (value.indexOf(PAIR_SEPARATOR) >= 0) {
+                returnVal = parsePair((v, acc, defs, iconL) -> PropertyLoader.parseValue("", v, acc, defs, iconL),
+                                      value, accumulator, currentDefaults, iconLoader);
+            } else if (PropertyValue.NULL.equalsIgnoreCase(value)) {
+                returnVal = null;
+            } else if (startsWith(value, REFERENCE_PREFIX)) {
+                returnVal = parseReference(key, value, accumulator, currentDefaults);
+            }
         }
+        if (returnVal != LOAD_ERROR) return returnVal;
+        return value;
+    }
 
-        Object returnVal = new LoadError();
+    private static KeyType getKeyType(final String key) {
         if (key.endsWith("Insets") || key.endsWith(".insets")) {
-            returnVal = parseInsets(value, accumulator, currentDefaults, iconLoader);
-        } else if (!skipObjects
-                   && (key.endsWith("Border")
-                       || key.endsWith(".border")
-                       || key.endsWith("Renderer"))) {
-            return (UIDefaults.LazyValue) def -> parseObject(value);
+            return KeyType.INSETS;
+        } else if (key.endsWith("Border") || key.endsWith(".border") || key.endsWith("Renderer")) {
+            return KeyType.OBJECT;
         } else if (key.endsWith(".component") || key.endsWith("Component")) {
-            return (UIDefaults.ActiveValue) (def) -> parseObject(value);
-        } else if (key.toLowerCase().endsWith("font")) {
-            returnVal = parseFont(key, value, accumulator, currentDefaults);
+            return KeyType.COMPONENT;
+        } else if (key.regionMatches(true, key.length() - FONT_SUFFIX.length(), FONT_SUFFIX, 0,
+                                     FONT_SUFFIX.length())) {
+            return KeyType.FONT;
         } else if (key.endsWith(".icon") || key.endsWith("Icon") || key.endsWith("Image")) {
-            returnVal = parseIcon(value, accumulator, currentDefaults, iconLoader);
+            return KeyType.ICON;
         } else if (key.endsWith("Size") || key.endsWith(".size")) {
-            returnVal = parseSize(value);
-        } else if (value.startsWith(String.valueOf(LIST_START))
-                   && value.endsWith(String.valueOf(LIST_END))) {
-            returnVal = parseList((v, acc, defs, iconL) -> PropertyLoader.parseValue("", v, acc, defs, iconL),
-                                  value, accumulator, currentDefaults, iconLoader);
-        } else if (value.startsWith(String.valueOf(INT_LIST_START))
-                   && value.endsWith(String.valueOf(INT_LIST_END))) {
-            returnVal = parseList((SimpleValueMapper<Integer>) Integer::parseInt, value, accumulator, currentDefaults,
-                                  iconLoader, INT_LIST_START, INT_LIST_END, SEPARATOR);
-        } else if (value.contains(String.valueOf(PAIR_SEPARATOR))) {
-            returnVal = parsePair((v, acc, defs, iconL) -> PropertyLoader.parseValue("", v, acc, defs, iconL),
-                                  value, accumulator, currentDefaults, iconLoader);
-        } else if (PropertyValue.NULL.equalsIgnoreCase(value)) {
-            returnVal = null;
-        } else if (value.startsWith(String.valueOf(REFERENCE_PREFIX))) {
-            returnVal = parseReference(key, value, accumulator, currentDefaults);
-        }
-        if (!(returnVal instanceof LoadError)) return returnVal;
-        return value;
+            return KeyType.SIZE;
+        }
+        return KeyType.OTHER;
     }
 
     private static <T> Pair<T, T> parsePair(final ParseFunction<T> mapper,
@@ -238,9 +267,11 @@ public final class PropertyLoader {
     private static <T, K> Pair<T, K> parsePair(final ParseFunction<T> firstMapper, final ParseFunction<K> secondMapper,
                                                final String value, final Map<Object, Object> accumulator,
                                                final UIDefaults currentDefaults, final IconLoader iconLoader) {
-        String[] pairVals = value.split(String.valueOf(PAIR_SEPARATOR), 2);
-        return new Pair<>(firstMapper.parseValue(pairVals[0], accumulator, currentDefaults, iconLoader),
-                          secondMapper.parseValue(pairVals[1], accumulator, currentDefaults, iconLoader));
+        int separator = value.indexOf(PAIR_SEPARATOR);
+        return new Pair<>(firstMapper.parseValue(value.substring(0, separator), accumulator, currentDefaults,
+                                                 iconLoader),
+                          secondMapper.parseValue(value.substring(separator + 1), accumulator, currentDefaults,
+                                                  iconLoader));
     }
 
     private static Object parseReference(final String key, final String value,
@@ -330,15 +361,13 @@ public final class PropertyLoader {
         String[] subKeys = key.split(String.valueOf(SEPARATOR));
         int[] values = new int[subKeys.length];
         for (int i = 0; i < values.length; i++) {
-            if (subKeys[i].startsWith(String.valueOf(REFERENCE_PREFIX))) {
+            if (startsWith(subKeys[i], REFERENCE_PREFIX)) {
                 Object ref = parseReference(identifier, subKeys[i], accumulator, currrentDefault);
                 values[i] = ref instanceof Integer ? (Integer) ref : 0;
             } else {
-                try {
-                    values[i] = Integer.parseInt(subKeys[i]);
-                } catch (NumberFormatException ignored) {
-                    // In this case the value will be 0.
-                }
+                Integer value = getInteger(subKeys[i]);
+                // If the value isn't an integer it will be 0.
+                if (value != null) values[i] = value;
             }
         }
         int result = 0;
@@ -376,15 +405,32 @@ public final class PropertyLoader {
                                          final char start, final char end,
                                          final char delimiter) {
         if (value == null || value.isEmpty()) return new ArrayList<>();
-        String val = value;
-        if (val.charAt(0) == start) {
-            val = value.substring(1, value.length() - 1);
+        int from = 0;
+        int to = value.length();
+        if (value.charAt(0) == start) {
+            from++;
+            to--;
+        }
+        /*
+         * Splits the value in place. Trailing empty entries are discarded to be consistent with String#split.
+         */
+        List<T> list = new ArrayList<>();
+        int pendingEmpty = 0;
+        int index = from;
+        while (index <= to) {
+            int next = value.indexOf(delimiter, index);
+            if (next < 0 || next > to) next = to;
+            if (next == index && (index != from || next != to)) {
+                pendingEmpty++;
+            } else {
+                for (; pendingEmpty > 0; pendingEmpty--) {
+                    list.add(mapper.parseValue("", accumulator, currentDefaults, iconLoader));
+                }
+                list.add(mapper.parseValue(value.substring(index, next), accumulator, currentDefaults, iconLoader));
+            }
+            index = next + 1;
         }
-        String[] values = val.split(String.valueOf(delimiter));
-        if (values.length == 0) return Collections.emptyList();
-        return Arrays.stream(values)
-                     .map(k -> mapper.parseValue(k, accumulator, currentDefaults, iconLoader))
-                     .collect(Collectors.toList());
+        return list;
     }
 
     private static Icon parseIcon(final String value,
@@ -398,11 +444,9 @@ public final class PropertyLoader {
         Dimension dim = new Dimension(16, 16);
         if (value.charAt(value.length() - 1) == ARG_END) {
             int i = path.lastIndexOf(ARG_START);
-            String dimVal = path.substring(i + 1, path.length() - 1);
-            int[] values = Arrays.stream(dimVal.split(String.valueOf(SEPARATOR), 2)).mapToInt(Integer::parseInt)
-                                 .toArray();
-            dim.width = values[0];
-            dim.height = values[1];
+            int separator = path.indexOf(SEPARATOR, i);
+            dim.width = Integer.parseInt(path.substring(i + 1, separator));
+            dim.height = Integer.parseInt(path.substring(separator + 1, path.length() - 1));
             path = path.substring(0, i);
         }
         if (path.charAt(path.length() - 1) == INT_LIST_END) {
@@ -443,28 +487,65 @@ public final class PropertyLoader {
     }
 
     private static Object parseSize(final String value) {
-        try {
-            int[] dim = Arrays.stream(value.split(String.valueOf(SEPARATOR), 2)).mapToInt(Integer::parseInt).toArray();
-            return new DimensionUIResource(dim[0], dim[1]);
-        } catch (IndexOutOfBoundsException | NumberFormatException e) {
-            return new LoadError();
-        }
+        int separator = value.indexOf(SEPARATOR);
+        if (separator < 0) return LOAD_ERROR;
+        Integer width = getInteger(value.substring(0, separator));
+        Integer height = getInteger(value.substring(separator + 1));
+        if (width == null || height == null) return LOAD_ERROR;
+        return new DimensionUIResource(width, height);
     }
 
+    /*
+     * Equivalent to Integer#parseInt but returns null instead of throwing an exception if the value isn't a valid
+     * integer.
+     */
     private static Integer getInteger(final String value) {
-        try {
-            return Integer.parseInt(value);
-        } catch (final NumberFormatException ignored) {
-            return null;
+        int length = value.length();
+        if (length == 0) return null;
+        int index = 0;
+        boolean negative = false;
+        char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            negative = first == '-';
+            index++;
+            if (length == 1) return null;
+        }
+        long result = 0;
+        long limit = negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (; index < length; index++) {
+            int digit = Character.digit(value.charAt(index), 10);
+            if (digit < 0) return null;
+            result = 10 * result + digit;
+            if (result > limit) return null;
         }
+        return (int) (negative ? -result : result);
     }
 
-    private static Double getDouble(final String value) {
-        try {
-            return Double.parseDouble(value);
-        } catch (final NumberFormatException ignored) {
-            return null;
+    /*
+     * Colors are specified as exactly six hexadecimal digits.
+     */
+    private static boolean isHexColor(final String value) {
+        if (value.length() != 6) return false;
+        for (int i = 0; i < 6; i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) return false;
+        }
+        return true;
+    }
+
+    private static int parseHex(final String value) {
+        int rgb = 0;
+        for (int i = 0; i < value.length(); i++) {
+            rgb = (rgb << 4) | Character.digit(value.charAt(i), 16);
         }
+        return rgb;
+    }
+
+    private static boolean startsWith(final String value, final char c) {
+        return !value.isEmpty() && value.charAt(0) == c;
+    }
+
+    private static boolean endsWith(final String value, final char c) {
+        return !value.isEmpty() && value.charAt(value.length() - 1) == c;
     }
 
     private static Object parseObject(final String value) {
@@ -476,6 +557,65 @@ public final class PropertyLoader {
 
     private static final class LoadError {}
 
+    /*
+     * Values that instantiate an object of the given class. They compare equal if they create objects of the same
+     * class, which allows comparing defaults of different themes.
+     */
+    private abstract static class ObjectValue {
+
+        protected final String className;
+
+        private ObjectValue(final String className) {
+            this.className = className;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return className.equals(((ObjectValue) o).className);
+        }
+
+        @Override
+        public int hashCode() {
+            return className.hashCode();
+        }
+    }
+
+    private static final class LazyObjectValue extends ObjectValue implements UIDefaults.LazyValue {
+
+        private LazyObjectValue(final String className) {
+            super(className);
+        }
+
+        @Override
+        public Object createValue(final UIDefaults table) {
+            return parseObject(className);
+        }
+    }
+
+    private static final class ActiveObjectValue extends ObjectValue implements UIDefaults.ActiveValue {
+
+        private ActiveObjectValue(final String className) {
+            super(className);
+        }
+
+        @Override
+        public Object createValue(final UIDefaults table) {
+            return parseObject(className);
+        }
+    }
+
+    private enum KeyType {
+        INSETS,
+        OBJECT,
+        COMPONENT,
+        FONT,
+        ICON,
+        SIZE,
+        OTHER
+    }
+
     private interface ParseFunction<T> {
 
         T parseValue(final String value,
@@ -28,6 +28,9 @@ import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.io.Serializable;
 import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 
@@ -53,16 +56,21 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
      * The scale factor is only used if the icon is painted with a non trivial rotation.
      */
     private static final double extraScale = 1.5;
+    /*
+     * Icons with the same uri share the svg diagram of their universe. Patching and rendering a diagram is guarded by
+     * a lock for each uri.
+     */
+    private static final Map<URI, Object> documentLocks = new ConcurrentHashMap<>();
 
     private final Dimension size;
     private final SVGIcon icon;
     protected final URI uri;
+    private final Object lock;
     private final AtomicBoolean loaded;
 
     private boolean loadedWithExtraScale;
     private double scaleX;
     private double scaleY;
-    private Image image;
 
     /**
      * Method to fetch the SVG icon from a url.
@@ -73,6 +81,7 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
      */
     public DarkSVGIcon(final URI uri, final int displayWidth, final int displayHeight) {
         this.uri = uri;
+        this.lock = documentLocks.computeIfAbsent(uri, u -> new Object());
         size = new Dimension(displayWidth, displayHeight);
         icon = createSVGIcon();
         icon.setAutosize(SVGIcon.AUTOSIZE_STRETCH);
@@ -84,6 +93,7 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
         this.size = new Dimension(width, height);
         this.icon = icon.icon;
         this.uri = icon.uri;
+        this.lock = icon.lock;
         this.loaded = icon.loaded;
     }
 
@@ -102,41 +112,141 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
     }
 
     protected boolean ensureLoaded() {
+        return loadDocument();
+    }
+
+    private boolean loadDocument() {
         if (!loaded.get()) {
             LOGGER.fine(() -> "Loading icon '" + uri.toASCIIString() + "'.");
-            icon.setSvgURI(uri);
+            // Loading a document modifies the universe, which is shared between different uris.
+            synchronized (icon.getSvgUniverse()) {
+                icon.setSvgURI(uri);
+            }
             loaded.set(true);
             return true;
         }
         return false;
     }
 
-    protected void updateCache(final boolean update, final Component c) {
+    /**
+     * Update the scale the icon is rasterized with.
+     *
+     * @param c the component the icon is painted on.
+     */
+    protected void updateCache(final Component c) {
         GraphicsConfiguration gc = c != null ? c.getGraphicsConfiguration() : null;
-        double sx = Scale.getScaleX(gc);
-        double sy = Scale.getScaleY(gc);
-        if (!update && Scale.equalWithError(scaleX, sx) && Scale.equalWithError(scaleY, sy) && image != null) return;
-        scaleX = sx;
-        scaleY = sy;
-        double effectiveScaleX = loadedWithExtraScale ? scaleX * extraScale : scaleX;
-        double effectiveScaleY = loadedWithExtraScale ? scaleY * extraScale : scaleY;
-        image = createImage(Scale.scale(effectiveScaleX, effectiveScaleY, size));
+        scaleX = Scale.getScaleX(gc);
+        scaleY = Scale.getScaleY(gc);
+    }
+
+    /*
+     * Rasterized images are shared between all icons with the same svg document, pixel size and theme.
+     * They are retained by the image cache of the IconLoader and may be discarded at any time.
+     */
+    private Image getImage() {
+        if (isDocumentCurrent()) {
+            // Images are only published once they are complete, hence the lock isn't needed for the lookup.
+            Image image = IconLoader.getImageCache().get(createRasterKey());
+            if (image != null) return image;
+        }
+        synchronized (getLock()) {
+            /*
+             * The key depends on the theme the document is patched with, hence it has to be computed after the
+             * theme has been ensured.
+             */
+            ensureLoaded();
+            RasterKey key = createRasterKey();
+            Image image = IconLoader.getImageCache().get(key);
+            if (image == null) {
+                image = createImage(new Dimension(key.width, key.height));
+                IconLoader.getImageCache().put(key, image);
+            }
+            return image;
+        }
+    }
+
+    private Object getLock() {
+        return lock;
+    }
+
+    /**
+     * Returns whether the svg document has been loaded and is in the state the icon should be rendered with. Only in
+     * this case rasterized images can be looked up without ensuring the state of the document first.
+     *
+     * @return true if the document is up to date.
+     */
+    protected boolean isDocumentCurrent() {
+        return loaded.get();
+    }
+
+    /**
+     * Parses the svg document without patching or rasterizing it. This method may be called from any thread.
+     */
+    void parseDocument() {
+        synchronized (getLock()) {
+            loadDocument();
+        }
+    }
+
+    /**
+     * Parses the svg document and rasterizes the icon for the given scale factors. The image is put into the shared
+     * image cache and subsequent paint calls with the same scale will use it. Icons which depend on the theme (i.e.
+     * which have a {@link #getThemeMarker()}) read the ui defaults and should only be prepared on the event dispatch
+     * thread.
+     *
+     * @param scaleX the horizontal scale factor.
+     * @param scaleY the vertical scale factor.
+     * @see          IconLoader#preloadIcons(java.util.Collection, double...)
+     */
+    public void prepareImage(final double scaleX, final double scaleY) {
+        synchronized (getLock()) {
+            ensureLoaded();
+            RasterKey key = createRasterKey(scaleX, scaleY, false);
+            if (!IconLoader.getImageCache().contains(key)) {
+                IconLoader.getImageCache().put(key, createImage(new Dimension(key.width, key.height)));
+            }
+        }
+    }
+
+    private RasterKey createRasterKey() {
+        return createRasterKey(scaleX, scaleY, loadedWithExtraScale);
+    }
+
+    private RasterKey createRasterKey(final double scaleX, final double scaleY, final boolean withExtraScale) {
+        double effectiveScaleX = withExtraScale ? scaleX * extraScale : scaleX;
+        double effectiveScaleY = withExtraScale ? scaleY * extraScale : scaleY;
+        Dimension pixelSize = Scale.scale(effectiveScaleX, effectiveScaleY, size);
+        return new RasterKey(uri, icon.getSvgUniverse(), pixelSize.width, pixelSize.height, getThemeMarker());
+    }
+
+    /**
+     * Returns an object identifying the colors the svg document is currently rendered with. Icons with different
+     * markers don't share rasterized images.
+     *
+     * @return the theme marker or null if the colors don't depend on the theme.
+     */
+    protected Object getThemeMarker() {
+        return null;
     }
 
     @Override
     public Image createImage(final Dimension size) {
-        ensureLoaded();
-        icon.setPreferredSize(size);
-        return icon.getImage();
+        synchronized (getLock()) {
+            ensureLoaded();
+            icon.setPreferredSize(size);
+            return icon.getImage();
+        }
     }
 
     protected void ensureImageLoaded(final Component c, final double rotation) {
-        boolean rotationChanged = false;
+        synchronized (getLock()) {
+            ensureLoaded();
+        }
         if (!loadedWithExtraScale) {
+            // Rotated icons are rasterized larger. The raster key accounts for the size.
             loadedWithExtraScale = !isExactRotation(rotation);
-            rotationChanged = true;
         }
-        updateCache(ensureLoaded() || rotationChanged, c);
+        updateCache(c);
     }
 
     private boolean isExactRotation(final double rotation) {
@@ -157,6 +267,7 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
     public void paintIcon(final Component c, final Graphics g, final int x, final int y,
                           final double rotation) {
         ensureImageLoaded(c, rotation);
+        Image image = getImage();
         Graphics2D g2 = (Graphics2D) g;
         AffineTransform transform = g2.getTransform();
         g2.translate(x, y);
@@ -185,7 +296,51 @@ public class DarkSVGIcon implements DerivableIcon<DarkSVGIcon>, RotateIcon, Seri
     }
 
     public SVGIcon getSVGIcon() {
-        if (!loaded.get()) ensureLoaded();
+        if (!loaded.get()) {
+            synchronized (getLock()) {
+                ensureLoaded();
+            }
+        }
         return icon;
     }
+
+    private static final class RasterKey {
+
+        private final URI uri;
+        private final Object universe;
+        private final int width;
+        private final int height;
+        private final Object themeMarker;
+
+        private RasterKey(final URI uri, final Object universe, final int width, final int height,
+                          final Object themeMarker) {
+            this.uri = uri;
+            this.universe = universe;
+            this.width = width;
+            this.height = height;
+            this.themeMarker = themeMarker;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RasterKey that = (RasterKey) o;
+            return width == that.width
+                   && height == that.height
+                   && universe == that.universe
+                   && themeMarker == that.themeMarker
+                   && Objects.equals(uri, that.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hashCode(uri);
+            result = 31 * result + System.identityHashCode(universe);
+            result = 31 * result + width;
+            result = 31 * result + height;
+            result = 31 * result + System.identityHashCode(themeMarker);
+            return result;
+        }
+    }
 }
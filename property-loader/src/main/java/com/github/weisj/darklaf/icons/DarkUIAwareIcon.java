@@ -26,6 +26,7 @@ package com.github.weisj.darklaf.icons;
 
 import java.awt.*;
 import java.io.Serializable;
+import java.util.Objects;
 
 import javax.swing.*;
 import javax.swing.plaf.UIResource;
@@ -125,6 +126,24 @@ public class DarkUIAwareIcon implements UIAwareIcon, UIResource, Serializable {
         return icon.getIconHeight();
     }
 
+    /*
+     * The icon for the current aware style.
+     */
+    Icon getCurrentIcon() {
+        ensureLoaded();
+        return icon;
+    }
+
+    /*
+     * Whether both icons resolve to the same resources.
+     */
+    boolean isSameIcon(final DarkUIAwareIcon other) {
+        return w == other.w && h == other.h
+               && darkKey.equals(other.darkKey)
+               && lightKey.equals(other.lightKey)
+               && Objects.equals(parentClass, other.parentClass);
+    }
+
     public DarkUIAwareIcon getDual() {
         return dual;
     }
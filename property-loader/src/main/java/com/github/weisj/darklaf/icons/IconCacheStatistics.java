@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+/**
+ * Snapshot of the statistics of the caches used by {@link IconLoader}.
+ *
+ * @author Jannis Weis
+ */
+public final class IconCacheStatistics {
+
+    private final long iconHits;
+    private final long iconMisses;
+    private final long iconEvictions;
+    private final int iconCount;
+    private final long imageHits;
+    private final long imageMisses;
+    private final long imageEvictions;
+    private final long imageBytes;
+
+    IconCacheStatistics(final long iconHits, final long iconMisses, final long iconEvictions, final int iconCount,
+                        final long imageHits, final long imageMisses, final long imageEvictions,
+                        final long imageBytes) {
+        this.iconHits = iconHits;
+        this.iconMisses = iconMisses;
+        this.iconEvictions = iconEvictions;
+        this.iconCount = iconCount;
+        this.imageHits = imageHits;
+        this.imageMisses = imageMisses;
+        this.imageEvictions = imageEvictions;
+        this.imageBytes = imageBytes;
+    }
+
+    /**
+     * The number of icon requests which were served from the cache.
+     *
+     * @return the number of hits.
+     */
+    public long getIconHits() {
+        return iconHits;
+    }
+
+    /**
+     * The number of icon requests which required creating a new icon.
+     *
+     * @return the number of misses.
+     */
+    public long getIconMisses() {
+        return iconMisses;
+    }
+
+    /**
+     * The number of icons removed from the cache because its capacity was exceeded.
+     *
+     * @return the number of evictions.
+     */
+    public long getIconEvictions() {
+        return iconEvictions;
+    }
+
+    /**
+     * The number of icons currently held by the cache.
+     *
+     * @return the number of icons.
+     */
+    public int getIconCount() {
+        return iconCount;
+    }
+
+    /**
+     * The number of times a rasterized image of an svg icon could be reused.
+     *
+     * @return the number of hits.
+     */
+    public long getImageHits() {
+        return imageHits;
+    }
+
+    /**
+     * The number of times an svg icon had to be rasterized.
+     *
+     * @return the number of misses.
+     */
+    public long getImageMisses() {
+        return imageMisses;
+    }
+
+    /**
+     * The number of rasterized images removed from the cache because its capacity was exceeded.
+     *
+     * @return the number of evictions.
+     */
+    public long getImageEvictions() {
+        return imageEvictions;
+    }
+
+    /**
+     * The approximate number of bytes held by rasterized images.
+     *
+     * @return the number of bytes.
+     */
+    public long getImageBytes() {
+        return imageBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "IconCacheStatistics{icons=" + iconCount + ", iconHits=" + iconHits + ", iconMisses=" + iconMisses
+               + ", iconEvictions=" + iconEvictions + ", imageBytes=" + imageBytes + ", imageHits=" + imageHits
+               + ", imageMisses=" + imageMisses + ", imageEvictions=" + imageEvictions + "}";
+    }
+}
@@ -25,7 +25,7 @@
 package com.github.weisj.darklaf.icons;
 
 import java.awt.*;
-import java.util.Arrays;
+import java.util.*;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -47,43 +47,101 @@ public final class IconColorMapper {
     private static final Logger LOGGER = LogUtil.getLogger(IconLoader.class);
     private static final Color FALLBACK_COLOR = Color.RED;
 
+    /*
+     * The color slots of each themed svg document. They are read once when the document is patched the first time.
+     */
+    private static final Map<SVGDiagram, ColorSlots> slotCache = new WeakHashMap<>();
+    /*
+     * The values of the color slots for the current theme. They are shared between all themed icons which are
+     * resolved against the global ui defaults.
+     */
+    private static final Map<ColorSlot, SlotValue> palette = new HashMap<>();
+    private static Object paletteTheme;
+
     public static void patchColors(final SVGIcon svgIcon) {
-        patchColors(svgIcon, UIManager.getDefaults());
+        patchColors(svgIcon, UIManager.getDefaults(), true);
     }
 
     public static void patchColors(final SVGIcon svgIcon, final UIDefaults defaults) {
+        patchColors(svgIcon, defaults, false);
+    }
+
+    private static void patchColors(final SVGIcon svgIcon, final UIDefaults defaults, final boolean usePalette) {
         SVGUniverse universe = svgIcon.getSvgUniverse();
         SVGDiagram diagram = universe.getDiagram(svgIcon.getSvgURI());
-        try {
-            loadColors(diagram, defaults);
-        } catch (SVGElementException e) {
-            LOGGER.log(Level.SEVERE, "Failed patching colors. " + e.getMessage(), e.getStackTrace());
+        if (diagram == null) return;
+        ColorSlots slots = getColorSlots(diagram);
+        if (slots.slots.length == 0) return;
+        synchronized (slots) {
+            SlotValue[] values = new SlotValue[slots.slots.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = usePalette ? getPaletteValue(slots.slots[i], defaults)
+                        : resolveValue(slots.slots[i], defaults);
+            }
+            // Icons sharing the same document only need to be patched once.
+            if (Arrays.equals(values, slots.appliedValues)) return;
+            try {
+                loadColors(diagram, slots.slots, values);
+                slots.appliedValues = values;
+            } catch (SVGElementException e) {
+                LOGGER.log(Level.SEVERE, "Failed patching colors. " + e.getMessage(), e.getStackTrace());
+            }
+        }
+    }
+
+    private static ColorSlots getColorSlots(final SVGDiagram diagram) {
+        synchronized (slotCache) {
+            return slotCache.computeIfAbsent(diagram, IconColorMapper::createColorSlots);
+        }
+    }
+
+    private static ColorSlots createColorSlots(final SVGDiagram diagram) {
+        SVGElement defs = diagram.getElement("colors");
+        if (defs == null) return new ColorSlots(new ColorSlot[0]);
+        List<?> children = defs.getChildren(null);
+        List<ColorSlot> slots = new ArrayList<>(children.size());
+        for (Object child : children) {
+            if (child instanceof LinearGradient) {
+                LinearGradient gradient = (LinearGradient) child;
+                slots.add(new ColorSlot(gradient.getId(), getFallbacks(gradient), getOpacityKey(gradient)));
+            }
         }
+        return new ColorSlots(slots.toArray(new ColorSlot[0]));
     }
 
-    private static void loadColors(final SVGDiagram diagram, final UIDefaults defaults) throws SVGElementException {
+    private static SlotValue getPaletteValue(final ColorSlot slot, final UIDefaults defaults) {
+        synchronized (palette) {
+            Object theme = IconLoader.getThemeStatus();
+            if (theme != paletteTheme) {
+                palette.clear();
+                paletteTheme = theme;
+            }
+            return palette.computeIfAbsent(slot, s -> resolveValue(s, defaults));
+        }
+    }
+
+    private static SlotValue resolveValue(final ColorSlot slot, final UIDefaults defaults) {
+        return new SlotValue(resolveColor(slot.id, slot.fallbacks, FALLBACK_COLOR, defaults),
+                             getOpacity(slot.opacityKey));
+    }
+
+    private static void loadColors(final SVGDiagram diagram, final ColorSlot[] slots,
+                                   final SlotValue[] values) throws SVGElementException {
         SVGRoot root = diagram.getRoot();
         SVGElement defs = diagram.getElement("colors");
         if (defs == null) return;
-        List<?> children = defs.getChildren(null);
         root.removeChild(defs);
 
         Defs themedDefs = new Defs();
         themedDefs.addAttribute("id", AnimationElement.AT_XML, "colors");
         root.loaderAddChild(null, themedDefs);
 
-        for (Object child : children) {
-            if (child instanceof LinearGradient) {
-                String id = ((LinearGradient) child).getId();
-                String[] fallbacks = getFallbacks((LinearGradient) child);
-                float opacity = getOpacity((LinearGradient) child);
-                Color c = resolveColor(id, fallbacks, FALLBACK_COLOR, defaults);
-                Pair<LinearGradient, Runnable> result = createColor(c, id, opacity);
-                LinearGradient gradient = result.getFirst();
-                Runnable finalizer = result.getSecond();
-                themedDefs.loaderAddChild(null, gradient);
-                finalizer.run();
-            }
+        for (int i = 0; i < slots.length; i++) {
+            Pair<LinearGradient, Runnable> result = createColor(values[i].color, slots[i].id, values[i].opacity);
+            LinearGradient gradient = result.getFirst();
+            Runnable finalizer = result.getSecond();
+            themedDefs.loaderAddChild(null, gradient);
+            finalizer.run();
         }
     }
 
@@ -112,16 +170,21 @@ public final class IconColorMapper {
         return attribute.getStringList();
     }
 
-    private static float getOpacity(final LinearGradient child) {
+    private static String getOpacityKey(final LinearGradient child) {
         StyleAttribute attribute = new StyleAttribute();
         attribute.setName("opacity");
         try {
             child.getStyle(attribute);
         } catch (SVGException e) {
-            return 1;
+            return null;
         }
+        return attribute.getStringValue();
+    }
+
+    private static float getOpacity(final String opacityKey) {
+        if (opacityKey == null) return 1;
         // UIManager defaults to 0, if the values isn't an integer (or null).
-        Object obj = UIManager.get(attribute.getStringValue());
+        Object obj = UIManager.get(opacityKey);
         if (obj instanceof Integer) {
             return ((Integer) obj) / 100.0f;
         }
@@ -158,4 +221,65 @@ public final class IconColorMapper {
     private static String toHexString(final Color color) {
         return "#" + ColorUtil.toHex(color);
     }
+
+    private static final class ColorSlots {
+        private final ColorSlot[] slots;
+        private SlotValue[] appliedValues;
+
+        private ColorSlots(final ColorSlot[] slots) {
+            this.slots = slots;
+        }
+    }
+
+    private static final class ColorSlot {
+        private final String id;
+        private final String[] fallbacks;
+        private final String opacityKey;
+
+        private ColorSlot(final String id, final String[] fallbacks, final String opacityKey) {
+            this.id = id;
+            this.fallbacks = fallbacks != null ? fallbacks : new String[0];
+            this.opacityKey = opacityKey;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ColorSlot that = (ColorSlot) o;
+            return Objects.equals(id, that.id)
+                   && Arrays.equals(fallbacks, that.fallbacks)
+                   && Objects.equals(opacityKey, that.opacityKey);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hash(id, opacityKey);
+            result = 31 * result + Arrays.hashCode(fallbacks);
+            return result;
+        }
+    }
+
+    private static final class SlotValue {
+        private final Color color;
+        private final float opacity;
+
+        private SlotValue(final Color color, final float opacity) {
+            this.color = color;
+            this.opacity = opacity;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SlotValue that = (SlotValue) o;
+            return Float.compare(that.opacity, opacity) == 0 && Objects.equals(color, that.color);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(color, opacity);
+        }
+    }
 }
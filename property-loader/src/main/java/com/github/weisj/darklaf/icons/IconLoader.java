@@ -24,12 +24,19 @@
  */
 package com.github.weisj.darklaf.icons;
 
+import java.awt.*;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,6 +44,7 @@ import javax.swing.*;
 
 import com.github.weisj.darklaf.util.LazyValue;
 import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.Scale;
 
 /**
  * @author Jannis Weis
@@ -46,18 +54,32 @@ public final class IconLoader {
     private static final Map<Class<?>, IconLoader> iconLoaderMap = new HashMap<>();
     private static final LazyValue<IconLoader> instance = new LazyValue<>(() -> get(null));
 
+    private static final int DEFAULT_ICON_CACHE_CAPACITY = 2048;
+    private static final long DEFAULT_IMAGE_CACHE_CAPACITY = 64L * 1024 * 1024;
+    private static final LRUCache<Object, Image> imageCache = new LRUCache<>(DEFAULT_IMAGE_CACHE_CAPACITY,
+                                                                             IconLoader::getImageSize);
+    private static int iconCacheCapacity = DEFAULT_ICON_CACHE_CAPACITY;
+    private static final LazyValue<ExecutorService> preloadExecutor = new LazyValue<>(IconLoader::createPreloadExecutor);
+
     private static Object currentThemeKey;
     private static AwareIconStyle currentAwareStyle;
 
     private static final int DEFAULT_W = 16;
     private static final int DEFAULT_H = 16;
     private final Class<?> parentClass;
-    private final Map<IconKey, DarkUIAwareIcon> awareIconMap = new HashMap<>();
-    private final Map<IconKey, Icon> iconMap = new HashMap<>();
+    /*
+     * The caches retain the icon instances, which in case of svg icons also own the parsed svg document.
+     * The rasterized images of svg icons are retained separately in the image cache.
+     */
+    private final LRUCache<IconKey, DarkUIAwareIcon> awareIconMap = new LRUCache<>(iconCacheCapacity, i -> 1);
+    private final LRUCache<IconKey, Icon> iconMap = new LRUCache<>(iconCacheCapacity, i -> 1);
+    /*
+     * Non themed icons of a given path which can be used to derive icons of a different size.
+     */
+    private final LRUCache<String, DerivableIcon<Icon>> derivableIcons = new LRUCache<>(iconCacheCapacity, i -> 1);
 
     private IconLoader(final Class<?> parentClass) {
         this.parentClass = parentClass;
-        iconLoaderMap.put(parentClass, this);
     }
 
     /**
@@ -75,15 +97,213 @@ public final class IconLoader {
      * @return the default icon loader.
      */
     public static IconLoader get(final Class<?> parentClass) {
-        if (iconLoaderMap.containsKey(parentClass)) {
-            return iconLoaderMap.get(parentClass);
-        } else {
-            IconLoader loader = new IconLoader(parentClass);
-            iconLoaderMap.put(parentClass, loader);
-            return loader;
+        synchronized (iconLoaderMap) {
+            return iconLoaderMap.computeIfAbsent(parentClass, IconLoader::new);
+        }
+    }
+
+    /**
+     * Sets the maximum number of icons each icon loader retains. Icons that have been used least recently are
+     * discarded first. Discarded icons remain usable, but requesting the same icon again will create a new instance.
+     *
+     * @param capacity the maximum number of icons.
+     */
+    public static void setIconCacheCapacity(final int capacity) {
+        synchronized (iconLoaderMap) {
+            iconCacheCapacity = capacity;
+            for (IconLoader loader : iconLoaderMap.values()) {
+                loader.iconMap.setCapacity(capacity);
+                loader.awareIconMap.setCapacity(capacity);
+                loader.derivableIcons.setCapacity(capacity);
+            }
+        }
+    }
+
+    /**
+     * Get the maximum number of icons each icon loader retains.
+     *
+     * @return the maximum number of icons.
+     */
+    public static int getIconCacheCapacity() {
+        return iconCacheCapacity;
+    }
+
+    /**
+     * Sets the approximate maximum number of bytes all rasterized images of svg icons may occupy. Images that have
+     * been used least recently are discarded first and rasterized again when needed.
+     *
+     * @param capacity the maximum number of bytes.
+     */
+    public static void setImageCacheCapacity(final long capacity) {
+        imageCache.setCapacity(capacity);
+    }
+
+    /**
+     * Get the approximate maximum number of bytes all rasterized images of svg icons may occupy.
+     *
+     * @return the maximum number of bytes.
+     */
+    public static long getImageCacheCapacity() {
+        return imageCache.getCapacity();
+    }
+
+    /**
+     * Discards all rasterized images of svg icons. They will be rasterized again when needed.
+     */
+    public static void clearImageCache() {
+        imageCache.clear();
+    }
+
+    /**
+     * Get the current statistics of the icon and image caches of all icon loaders.
+     *
+     * @return the cache statistics.
+     */
+    public static IconCacheStatistics getCacheStatistics() {
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        int count = 0;
+        synchronized (iconLoaderMap) {
+            for (IconLoader loader : iconLoaderMap.values()) {
+                hits += loader.iconMap.getHits() + loader.awareIconMap.getHits();
+                misses += loader.iconMap.getMisses() + loader.awareIconMap.getMisses();
+                evictions += loader.iconMap.getEvictions() + loader.awareIconMap.getEvictions();
+                count += loader.iconMap.size() + loader.awareIconMap.size();
+            }
+        }
+        return new IconCacheStatistics(hits, misses, evictions, count,
+                                       imageCache.getHits(), imageCache.getMisses(), imageCache.getEvictions(),
+                                       imageCache.getWeight());
+    }
+
+    /**
+     * Returns whether both icons are loaded from the same resource with the same size. Icons evicted from the icon
+     * cache are recreated when they are requested again, hence the icon returned for a path isn't necessarily the
+     * same instance as before. Icons which can't be identified by their resource are only the same if they are
+     * identical.
+     *
+     * @param  a the first icon.
+     * @param  b the second icon.
+     * @return   true if the icons are the same.
+     */
+    public static boolean isSameIcon(final Icon a, final Icon b) {
+        if (a == b) return true;
+        if (a == null || b == null || a.getClass() != b.getClass()) return false;
+        // The colors of custom themed icons aren't part of their resource.
+        if (a instanceof CustomThemedIcon) return false;
+        if (a instanceof DarkSVGIcon) {
+            DarkSVGIcon svgA = (DarkSVGIcon) a;
+            DarkSVGIcon svgB = (DarkSVGIcon) b;
+            return svgA.uri.equals(svgB.uri)
+                   && svgA.getIconWidth() == svgB.getIconWidth()
+                   && svgA.getIconHeight() == svgB.getIconHeight();
+        }
+        if (a instanceof DarkUIAwareIcon) {
+            return ((DarkUIAwareIcon) a).isSameIcon((DarkUIAwareIcon) b);
+        }
+        if (a instanceof LazyIcon) {
+            LazyIcon lazyA = (LazyIcon) a;
+            LazyIcon lazyB = (LazyIcon) b;
+            return lazyA.key.equals(lazyB.key) && Objects.equals(lazyA.parentClass, lazyB.parentClass);
+        }
+        return false;
+    }
+
+    /**
+     * Parses and rasterizes the given icons in the background. Once an image is ready it is used by all svg icons
+     * sharing the same resource, size and theme. Icons which aren't svg icons are ignored. If an icon is painted
+     * before its image is ready it is rasterized on the painting thread as usual.
+     * <p>
+     * Themed icons are only parsed in the background. Their colors are patched from the ui defaults and they are
+     * rasterized on the event dispatch thread afterwards.
+     *
+     * @param  icons  the icons to preload. Elements which aren't icons are ignored, hence the values of the ui
+     *                defaults can be passed directly.
+     * @param  scales the scale factors to rasterize the icons for. If none are given the scale of the default
+     *                screen is used.
+     * @return        a future which completes when all icons have been prepared.
+     */
+    public static CompletableFuture<Void> preloadIcons(final Collection<?> icons, final double... scales) {
+        List<DarkSVGIcon> svgIcons = new ArrayList<>();
+        for (Object icon : icons) {
+            // Aware icons are resolved here as they depend on the current style.
+            if (icon instanceof DarkUIAwareIcon) icon = ((DarkUIAwareIcon) icon).getCurrentIcon();
+            if (icon instanceof DarkSVGIcon) svgIcons.add((DarkSVGIcon) icon);
+        }
+        double[] scaleFactors = scales.length > 0 ? scales.clone() : new double[]{Scale.SCALE};
+        List<DarkSVGIcon> themedIcons = new ArrayList<>();
+        return CompletableFuture.runAsync(() -> {
+            for (DarkSVGIcon icon : svgIcons) {
+                try {
+                    icon.parseDocument();
+                    if (icon.getThemeMarker() != null) {
+                        themedIcons.add(icon);
+                    } else {
+                        prepareImages(icon, scaleFactors);
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Could not preload icon '" + icon.uri + "'", e);
+                }
+            }
+        }, preloadExecutor.get()).thenRunAsync(() -> {
+            for (DarkSVGIcon icon : themedIcons) {
+                prepareImages(icon, scaleFactors);
+            }
+        }, SwingUtilities::invokeLater);
+    }
+
+    private static void prepareImages(final DarkSVGIcon icon, final double[] scaleFactors) {
+        for (double scale : scaleFactors) {
+            try {
+                icon.prepareImage(scale, scale);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Could not preload icon '" + icon.uri + "'", e);
+            }
         }
     }
 
+    /**
+     * Parses and rasterizes the icons at the given locations in the background.
+     *
+     * @see           #preloadIcons(Collection, double...)
+     * @param  paths  the paths to the icons with respect to the IconLoader resource root.
+     * @param  w      the icon width.
+     * @param  h      the icon height.
+     * @param  themed determines whether the icons are themed.
+     * @param  scales the scale factors to rasterize the icons for. If none are given the scale of the default
+     *                screen is used.
+     * @return        a future which completes when all icons have been prepared.
+     */
+    public CompletableFuture<Void> preload(final Collection<String> paths, final int w, final int h,
+                                           final boolean themed, final double... scales) {
+        List<Icon> icons = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            icons.add(getIcon(path, w, h, themed));
+        }
+        return preloadIcons(icons, scales);
+    }
+
+    private static ExecutorService createPreloadExecutor() {
+        return Executors.newSingleThreadExecutor(r -> {
+            final Thread thread = new Thread(r, "Icon Preload Thread");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    static LRUCache<Object, Image> getImageCache() {
+        return imageCache;
+    }
+
+    private static long getImageSize(final Image image) {
+        int width = image.getWidth(null);
+        int height = image.getHeight(null);
+        // Assume 4 bytes per pixel. This is the case for images of svg icons.
+        return 4L * Math.max(width, 0) * Math.max(height, 0);
+    }
+
     /**
      * Updates the style of aware icons.
      * Changing it will force aware icons to change their appearance accordingly.
@@ -147,11 +367,12 @@ public final class IconLoader {
      */
     public DarkUIAwareIcon getUIAwareIcon(final String path, final int w, final int h) {
         IconKey key = new IconKey(path, w, h);
-        if (awareIconMap.containsKey(key)) {
-            return awareIconMap.get(key);
-        } else {
-            DarkUIAwareIcon icon = createUIAwareIcon(path, w, h);
-            awareIconMap.put(key, icon);
+        synchronized (this) {
+            DarkUIAwareIcon icon = awareIconMap.get(key);
+            if (icon == null) {
+                icon = createUIAwareIcon(path, w, h);
+                awareIconMap.put(key, icon);
+            }
             return icon;
         }
     }
@@ -204,35 +425,28 @@ public final class IconLoader {
      * @param  themed determines whether the icon is themed. This only has an effect on svg icons.
      * @return        the icon.
      */
+    @SuppressWarnings("unchecked")
     public Icon getIcon(final String path, final int w, final int h, final boolean themed) {
         IconKey key = new IconKey(path, w, h);
-        if (iconMap.containsKey(key)) {
-            return iconMap.get(key);
-        } else if (awareIconMap.containsKey(key)) {
-            return awareIconMap.get(key);
-        } else {
-            key.w = -1; // Enable wild card search. Find any icon that matches path.
-            if (iconMap.containsKey(key)) {
-                Icon icon = iconMap.get(key);
-                if (icon instanceof DerivableIcon) {
-                    // If the desired icon is an DarkSVGIcon we can create a view that shares the underlying svg with
-                    // the existing icon.
-                    Icon derived = ((DerivableIcon<Icon>) icon).derive(w, h);
-                    key.w = w;
-                    iconMap.put(key, derived);
-                    return derived;
+        synchronized (this) {
+            Icon icon = iconMap.get(key);
+            if (icon != null) return icon;
+            if (awareIconMap.contains(key)) return awareIconMap.get(key);
+            DerivableIcon<Icon> derivable = themed ? null : derivableIcons.get(path);
+            if (derivable != null) {
+                // If the desired icon is an DarkSVGIcon we can create a view that shares the underlying svg with
+                // the existing icon.
+                icon = derivable.derive(w, h);
+            } else if (path.endsWith(".svg")) {
+                icon = loadSVGIcon(path, w, h, themed);
+                if (!themed && icon instanceof DerivableIcon) {
+                    derivableIcons.put(path, (DerivableIcon<Icon>) icon);
                 }
-            }
-            key.w = w; // Restore key.
-            if (path.endsWith(".svg")) {
-                Icon icon = loadSVGIcon(path, w, h, themed);
-                iconMap.put(key, icon);
-                return icon;
             } else {
-                Icon icon = new LazyImageIcon(path, key, parentClass);
-                iconMap.put(key, icon);
-                return icon;
+                icon = new LazyImageIcon(path, new IconKey(path, w, h), parentClass);
             }
+            iconMap.put(key, icon);
+            return icon;
         }
     }
 
@@ -328,6 +542,9 @@ public final class IconLoader {
 
     protected static final class IconKey {
         final String path;
+        /*
+         * Note: The size may only be changed if the key isn't used in the cache.
+         */
         int w;
         int h;
 
@@ -349,10 +566,6 @@ public final class IconLoader {
 
             IconKey iconKey = (IconKey) o;
 
-            if (iconKey.w == -1 || iconKey.h == -1) {
-                // Math any size.
-                return Objects.equals(path, iconKey.path);
-            }
             if (w != iconKey.w) return false;
             if (h != iconKey.h) return false;
             return Objects.equals(path, iconKey.path);
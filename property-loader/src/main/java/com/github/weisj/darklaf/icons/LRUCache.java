@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.icons;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread safe cache evicting the least recently used entries once the total weight of its values exceeds the
+ * capacity.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ * @author    Jannis Weis
+ */
+final class LRUCache<K, V> {
+
+    private final Map<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final ToLongFunction<V> weigher;
+    private long capacity;
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    LRUCache(final long capacity, final ToLongFunction<V> weigher) {
+        this.capacity = capacity;
+        this.weigher = weigher;
+    }
+
+    synchronized V get(final K key) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return value;
+    }
+
+    synchronized boolean contains(final K key) {
+        return entries.containsKey(key);
+    }
+
+    synchronized void put(final K key, final V value) {
+        V old = entries.put(key, value);
+        if (old != null) weight -= weigher.applyAsLong(old);
+        weight += weigher.applyAsLong(value);
+        trim();
+    }
+
+    synchronized void remove(final K key) {
+        V old = entries.remove(key);
+        if (old != null) weight -= weigher.applyAsLong(old);
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        weight = 0;
+    }
+
+    synchronized void setCapacity(final long capacity) {
+        this.capacity = capacity;
+        trim();
+    }
+
+    synchronized long getCapacity() {
+        return capacity;
+    }
+
+    synchronized long getWeight() {
+        return weight;
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    synchronized long getEvictions() {
+        return evictions;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void trim() {
+        Iterator<V> iterator = entries.values().iterator();
+        while (weight > capacity && iterator.hasNext()) {
+            weight -= weigher.applyAsLong(iterator.next());
+            iterator.remove();
+            evictions++;
+        }
+    }
+}
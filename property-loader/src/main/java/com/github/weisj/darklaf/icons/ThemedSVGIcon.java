@@ -32,7 +32,7 @@ import java.net.URI;
  */
 public class ThemedSVGIcon extends DarkSVGIcon {
 
-    private Object currentTheme;
+    private volatile Object currentTheme;
 
     public ThemedSVGIcon(final URI uri, final int displayWidth, final int displayHeight) {
         super(uri, displayWidth, displayHeight);
@@ -56,6 +56,16 @@ public class ThemedSVGIcon extends DarkSVGIcon {
         return false;
     }
 
+    @Override
+    protected boolean isDocumentCurrent() {
+        return super.isDocumentCurrent() && currentTheme == IconLoader.getThemeStatus();
+    }
+
+    @Override
+    protected Object getThemeMarker() {
+        return currentTheme;
+    }
+
     protected void patchColors() {
         IconColorMapper.patchColors(getSVGIcon());
     }
@@ -38,7 +38,7 @@ public class PropertyUtil {
     public static void installBackground(final Component component, final Color color) {
         if (component == null || color == null) return;
         Color c = component.getBackground();
-        if (c == null || c instanceof UIResource) {
+        if (c != color && (c == null || c instanceof UIResource)) {
             component.setBackground(color);
         }
     }
@@ -46,7 +46,7 @@ public class PropertyUtil {
     public static void installForeground(final Component component, final Color color) {
         if (component == null || color == null) return;
         Color c = component.getForeground();
-        if (c == null || c instanceof UIResource) {
+        if (c != color && (c == null || c instanceof UIResource)) {
             component.setForeground(color);
         }
     }
@@ -57,6 +57,12 @@ public class PropertyUtil {
         }
     }
 
+    public static void updateProperty(final JComponent c, final String key, final Object value) {
+        if (!Objects.equals(c.getClientProperty(key), value)) {
+            c.putClientProperty(key, value);
+        }
+    }
+
     public static void installBooleanProperty(final JComponent c, final String key, final String valueKey) {
         installProperty(c, key, UIManager.getBoolean(valueKey));
     }